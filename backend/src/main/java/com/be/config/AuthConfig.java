@@ -0,0 +1,69 @@
+package com.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuthConfig {
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "auth.user-status-cache")
+    public static class UserStatusCacheProperties {
+        /**
+         * Users whose status is kept in memory; the least recently used are dropped beyond it.
+         */
+        private int maxSize = 10_000;
+        /**
+         * Entries are re-read after this long, so changes made by another instance apply
+         * within it.
+         */
+        private long ttlMs = 60_000;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "auth.token-cache")
+    public static class TokenCacheProperties {
+        /**
+         * Remember successfully verified tokens until they expire, skipping the signature
+         * check and claims parsing when the same token is presented again.
+         */
+        private boolean enabled = true;
+        private int maxSize = 10_000;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "auth.password-hashing")
+    public static class PasswordHashingProperties {
+        /**
+         * Threads hashing passwords; 0 uses half of the available processors.
+         */
+        private int threads = 0;
+        /**
+         * Hashes waiting for a thread; further requests are rejected with a 429.
+         */
+        private int queueCapacity = 32;
+        /**
+         * Longest a request waits for its hash (queueing included) before giving up.
+         */
+        private long waitTimeoutMs = 3_000;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "auth.throttle")
+    public static class ThrottleProperties {
+        /**
+         * Login and registration attempts allowed per client address and window.
+         */
+        private int addressMaxAttempts = 20;
+        private long addressWindowMs = 60_000;
+        /**
+         * Failed passwords allowed per account and window; a successful login resets it.
+         */
+        private int accountMaxFailures = 5;
+        private long accountWindowMs = 900_000;
+    }
+}
@@ -0,0 +1,65 @@
+package com.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DashboardConfig {
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "dashboard.snapshot")
+    public static class SnapshotProperties {
+        /**
+         * Snapshots younger than this are served as is.
+         */
+        private long freshMs = 30_000;
+        /**
+         * Older snapshots up to this age are served while a refresh runs in the
+         * background; beyond it callers wait for the refresh.
+         */
+        private long maxStaleMs = 600_000;
+        /**
+         * Transaction (and query) timeout of each dashboard section.
+         */
+        private int sectionTimeoutSeconds = 5;
+        /**
+         * Database-backed sections running at once, each holding a connection; keep
+         * well below the connection pool size.
+         */
+        private int maxConcurrentQueries = 3;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "dashboard.stream")
+    public static class StreamProperties {
+        /**
+         * Concurrent stream connections; further clients are rejected until one leaves.
+         */
+        private int maxConnections = 50;
+        /**
+         * Frames buffered per client; a client that falls this far behind is disconnected.
+         */
+        private int queueCapacity = 256;
+        private long heartbeatMs = 15_000;
+        /**
+         * Lifetime of one connection; clients reconnect and receive a fresh snapshot.
+         */
+        private long timeoutMs = 1_800_000;
+        /**
+         * Outbox events older than this when dispatched are not pushed (startup catch-up).
+         */
+        private long maxEventAgeMs = 60_000;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "dashboard.top-products")
+    public static class TopProductsProperties {
+        /**
+         * Largest N answered by the top products tracker.
+         */
+        private int maxLimit = 100;
+    }
+}
@@ -0,0 +1,44 @@
+package com.be.config;
+
+import com.be.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migration path from {@code IDENTITY} columns to the pooled table generator: on startup,
+ * before the web server accepts requests, every generator row is raised above the
+ * current maximum id of its table. The pooled optimizer hands out the block ending at
+ * the stored value, so the seed keeps a full allocation block of headroom.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorSeeder {
+
+    // Generator rows are keyed by the name of the table they serve.
+    private static final List<String> GENERATED_TABLES = List.of("orders", "order_items", "medicines", "users");
+
+    private final JdbcTemplate jdbcTemplate;
+    // Forces schema update (which creates the generator table) to run first.
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        GENERATED_TABLES.forEach(table -> {
+            jdbcTemplate.update("""
+                    INSERT INTO %s (%s, %s)
+                    SELECT ?, COALESCE(MAX(id), 0) + ? + 1 FROM %s
+                    ON DUPLICATE KEY UPDATE %s = GREATEST(%s, VALUES(%s))
+                    """.formatted(IdGenerators.TABLE, IdGenerators.NAME_COLUMN, IdGenerators.VALUE_COLUMN, table,
+                    IdGenerators.VALUE_COLUMN, IdGenerators.VALUE_COLUMN, IdGenerators.VALUE_COLUMN),
+                    table, IdGenerators.ALLOCATION_SIZE);
+            log.debug("Seeded id generator for {} above its max id", table);
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class InventoryConfig {
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "inventory.alerts")
+    public static class AlertProperties {
+        /**
+         * Low stock threshold of products that do not set their own.
+         */
+        private int defaultLowStockThreshold = 10;
+        /**
+         * Interval of the full re-read that picks up stock changed by other instances.
+         */
+        private long reconcileMs = 60_000;
+    }
+}
@@ -0,0 +1,81 @@
+package com.be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OrderConfig {
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "order.ingestion")
+    public static class IngestionProperties {
+        /**
+         * When enabled, orders are committed in groups by a single writer thread
+         * instead of one transaction per request.
+         */
+        private boolean groupCommitEnabled = false;
+        private int queueCapacity = 1000;
+        private int batchSize = 20;
+        private long maxWaitMs = 10;
+        /**
+         * How long a request waits for the writer before it gives up; the order may
+         * still be committed afterwards.
+         */
+        private long submitTimeoutMs = 30_000;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "order.events")
+    public static class EventsProperties {
+        private int batchSize = 200;
+        /**
+         * How long a missing outbox id below a checkpoint is re-polled before it is taken
+         * to be a rolled-back transaction. Outbox ids are assigned at insert, not commit,
+         * so a transaction holding a lower id may commit after higher ids were consumed.
+         */
+        private long gapTimeoutMs = 600_000;
+        private int retentionDays = 7;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "order.archive")
+    public static class ArchiveProperties {
+        private boolean enabled = false;
+        /**
+         * Delivered and cancelled orders created more than this many days ago are archived.
+         */
+        private int minAgeDays = 180;
+        private int chunkSize = 500;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "order.quote")
+    public static class QuoteProperties {
+        /**
+         * HMAC key for quote tokens. When empty, a key is derived from {@code jwt.secret}
+         * with HKDF under a quote-specific label, so quote and JWT signatures never
+         * share a key.
+         */
+        private String secret;
+        private long ttlSeconds = 300;
+    }
+
+    @Data
+    @Configuration
+    @ConfigurationProperties(prefix = "order.export")
+    public static class ExportProperties {
+        /**
+         * Rows fetched per round trip by the export cursor.
+         */
+        private int fetchSize = 500;
+        /**
+         * Size of the export's own connection pool, which is the only one opened with
+         * {@code useCursorFetch=true}; concurrent exports beyond it wait for a connection.
+         */
+        private int maxConnections = 2;
+    }
+}
@@ -1,7 +1,9 @@
 package com.be.config;
 
+import com.be.security.BoundedPasswordEncoder;
 import com.be.security.JwtAuthenticationEntryPoint;
 import com.be.security.JwtRequestFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -33,8 +35,8 @@ public class SecurityConfig {
     private final CorsConfigurationSource corsConfigurationSource;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(AuthConfig.PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), properties, meterRegistry);
     }
 
     @Bean
@@ -48,7 +50,7 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/medicine-service/auth/login", "/medicine-service/auth/refresh", "/medicine-service/auth/register").permitAll()
+                        .requestMatchers("/medicine-service/auth/login", "/medicine-service/auth/refresh", "/medicine-service/auth/register", "/medicine-service/auth/logout").permitAll()
                         .requestMatchers("/medicine-service/payment/vnpay/return").permitAll()
                         .requestMatchers(HttpMethod.GET, "/medicine-service/products/**").permitAll()
                         .requestMatchers("/medicine-service/admin/**").hasRole("ADMIN")
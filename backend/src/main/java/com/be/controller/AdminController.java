@@ -1,26 +1,40 @@
 package com.be.controller;
 
 import com.be.dto.admin.DashboardResponse;
+import com.be.dto.admin.TimeGranularity;
 import com.be.dto.admin.UpdateUserStatusRequest;
 import com.be.dto.admin.UserResponse;
 import com.be.dto.common.MessageResponse;
 import com.be.dto.common.PagedResponse;
+import com.be.dto.order.BulkUpdateOrderStatusRequest;
+import com.be.dto.order.BulkUpdateOrderStatusResponse;
+import com.be.dto.order.OrderDetailResponse;
+import com.be.dto.order.OrderExportFormat;
 import com.be.dto.order.OrderResponse;
 import com.be.dto.order.UpdateOrderStatusRequest;
 import com.be.dto.product.*;
 import com.be.entity.OrderStatus;
+import com.be.service.DashboardStreamService;
+import com.be.service.InventoryService;
+import com.be.service.MetricsService;
+import com.be.service.OrderExportService;
 import com.be.service.OrderService;
 import com.be.service.ProductService;
+import com.be.service.UniqueCountService;
 import com.be.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @RestController
@@ -32,7 +46,12 @@ public class AdminController {
 
     private final ProductService productService;
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
     private final UserService userService;
+    private final MetricsService metricsService;
+    private final DashboardStreamService dashboardStreamService;
+    private final InventoryService inventoryService;
+    private final UniqueCountService uniqueCountService;
 
     @PostMapping("/products")
     public Object createProduct(@Valid @RequestBody CreateProductRequest request) {
@@ -86,6 +105,16 @@ public class AdminController {
                 .build());
     }
 
+    @GetMapping("/inventory/low-stock")
+    public Object getLowStockProducts(@RequestParam(defaultValue = "true") boolean includeOutOfStock) {
+        return ResponseEntity.ok(inventoryService.getLowStock(includeOutOfStock));
+    }
+
+    @GetMapping("/inventory/summary")
+    public Object getInventorySummary() {
+        return ResponseEntity.ok(inventoryService.getSummary());
+    }
+
     @GetMapping("/orders")
     public Object getAllOrders(
             @RequestParam(defaultValue = "0") int page,
@@ -97,6 +126,25 @@ public class AdminController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/orders/export")
+    public Object exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        var exportFormat = OrderExportFormat.fromValue(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.getExtension() + "\"")
+                .body(orderExportService.exportAllOrders(exportFormat, status, startDate, endDate));
+    }
+
+    @GetMapping("/orders/{id}")
+    public Object getOrderDetail(@PathVariable Long id) {
+        OrderDetailResponse order = orderService.getOrderDetail(id);
+        return ResponseEntity.ok(order);
+    }
+
     @PutMapping("/orders/{id}/status")
     public Object updateOrderStatus(
             @PathVariable Long id,
@@ -105,6 +153,12 @@ public class AdminController {
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PutMapping("/orders/bulk-status")
+    public Object bulkUpdateOrderStatus(@Valid @RequestBody BulkUpdateOrderStatusRequest request) {
+        BulkUpdateOrderStatusResponse result = orderService.bulkUpdateOrderStatus(request);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/users")
     public Object getAllUsers(
             @RequestParam(defaultValue = "0") int page,
@@ -128,9 +182,58 @@ public class AdminController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @PostMapping("/users/stats/rebuild")
+    public Object rebuildCustomerStats() {
+        userService.rebuildCustomerStats();
+        return ResponseEntity.ok(MessageResponse.of("Customer statistics rebuilt successfully"));
+    }
+
+    @GetMapping("/metrics/timeseries")
+    public Object getTimeSeries(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(metricsService.getTimeSeries(
+                TimeGranularity.fromValue(granularity), from, to, productId, categoryId));
+    }
+
+    @GetMapping("/metrics/top-products")
+    public Object getTopProducts(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(metricsService.getTopProducts(limit));
+    }
+
+    @GetMapping("/metrics/unique-visitors")
+    public Object getUniqueProductVisitors(
+            @RequestParam Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(uniqueCountService.getUniqueProductVisitors(productId, from, to));
+    }
+
+    @GetMapping("/metrics/unique-buyers")
+    public Object getUniqueCategoryBuyers(
+            @RequestParam Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(uniqueCountService.getUniqueCategoryBuyers(categoryId, from, to));
+    }
+
     @GetMapping("/dashboard")
     public Object getDashboardMetrics() {
         DashboardResponse dashboard = orderService.getDashboardMetrics();
         return ResponseEntity.ok(dashboard);
     }
+
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboard() {
+        return dashboardStreamService.subscribe();
+    }
+
+    @PostMapping("/dashboard/rollups/rebuild")
+    public Object rebuildDashboardRollups() {
+        orderService.rebuildDashboardRollups();
+        return ResponseEntity.ok(MessageResponse.of("Dashboard rollups rebuilt successfully"));
+    }
 }
\ No newline at end of file
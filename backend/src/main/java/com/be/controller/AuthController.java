@@ -3,7 +3,10 @@ package com.be.controller;
 import com.be.dto.auth.LoginRequest;
 import com.be.dto.auth.RefreshTokenRequest;
 import com.be.dto.auth.RegisterRequest;
+import com.be.dto.common.MessageResponse;
 import com.be.service.AuthService;
+import com.be.util.NetworkUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,9 +26,10 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
-    public Object register(@Valid @RequestBody RegisterRequest request) {
+    public Object register(@Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
         try {
-            return ResponseEntity.status(HttpStatus.CREATED).body(authService.register(request));
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(authService.register(request, NetworkUtils.getClientIpAddress(httpRequest)));
         } catch (Exception e) {
             log.error("Registration failed for email {}: {}", request.getEmail(), e.getMessage());
             throw e;
@@ -33,9 +37,9 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public Object loginUser(@Valid @RequestBody LoginRequest request) {
+    public Object loginUser(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
-            return ResponseEntity.ok(authService.login(request, null));
+            return ResponseEntity.ok(authService.login(request, null, NetworkUtils.getClientIpAddress(httpRequest)));
         } catch (Exception e) {
             log.error("Login failed for email {}: {}", request.getEmail(), e.getMessage());
             throw e;
@@ -43,15 +47,21 @@ public class AuthController {
     }
 
     @PostMapping("/login-admin")
-    public Object loginAdmin(@Valid @RequestBody LoginRequest request) {
+    public Object loginAdmin(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
-            return ResponseEntity.ok(authService.login(request, Boolean.TRUE));
+            return ResponseEntity.ok(authService.login(request, Boolean.TRUE, NetworkUtils.getClientIpAddress(httpRequest)));
         } catch (Exception e) {
             log.error("Login admin failed for email {}: {}", request.getEmail(), e.getMessage());
             throw e;
         }
     }
 
+    @PostMapping("/logout")
+    public Object logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request.getRefreshToken());
+        return ResponseEntity.ok(MessageResponse.builder().message("Logged out successfully").build());
+    }
+
     @PostMapping("/refresh")
     public Object refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         try {
@@ -0,0 +1,43 @@
+package com.be.controller;
+
+import com.be.dto.cart.UpdateCartItemRequest;
+import com.be.dto.common.MessageResponse;
+import com.be.service.CartService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/cart")
+@RequiredArgsConstructor
+public class CartController {
+
+    private final CartService cartService;
+
+    @GetMapping
+    public Object getCart(Authentication authentication) {
+        return ResponseEntity.ok(cartService.getCart(authentication.getName()));
+    }
+
+    @PutMapping("/items")
+    public Object updateItem(
+            @Valid @RequestBody UpdateCartItemRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(cartService.updateItem(authentication.getName(), request));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    public Object removeItem(
+            @PathVariable Long productId,
+            Authentication authentication) {
+        return ResponseEntity.ok(cartService.removeItem(authentication.getName(), productId));
+    }
+
+    @DeleteMapping
+    public Object clearCart(Authentication authentication) {
+        cartService.clearCart(authentication.getName());
+        return ResponseEntity.ok(MessageResponse.of("Cart cleared successfully"));
+    }
+}
@@ -2,11 +2,16 @@ package com.be.controller;
 
 import com.be.dto.common.MessageResponse;
 import com.be.dto.order.CreateOrderRequest;
+import com.be.dto.order.OrderExportFormat;
+import com.be.dto.order.OrderQuoteRequest;
+import com.be.service.OrderExportService;
 import com.be.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
     
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     @PostMapping
     public Object createOrder(
@@ -26,6 +32,13 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(request, authentication.getName()));
     }
 
+    @PostMapping("/quote")
+    public Object quoteOrder(
+            @Valid @RequestBody OrderQuoteRequest request,
+            Authentication authentication) {
+        return ResponseEntity.ok(orderService.quoteOrder(request, authentication.getName()));
+    }
+
     @GetMapping("/my-orders")
     public Object getMyOrders(
             @RequestParam(defaultValue = "0") int page,
@@ -35,6 +48,17 @@ public class OrderController {
                 authentication.getName(), page, size));
     }
     
+    @GetMapping("/my-orders/export")
+    public Object exportMyOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            Authentication authentication) {
+        var exportFormat = OrderExportFormat.fromValue(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"my-orders." + exportFormat.getExtension() + "\"")
+                .body(orderExportService.exportUserOrders(authentication.getName(), exportFormat));
+    }
+
     @GetMapping("/{id}")
     public Object getOrderById(
             @PathVariable Long id,
@@ -1,9 +1,14 @@
 package com.be.controller;
 
 import com.be.service.ProductService;
+import com.be.service.UniqueCountService;
+import com.be.util.NetworkUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
@@ -14,6 +19,7 @@ import java.math.BigDecimal;
 @Slf4j
 public class ProductController {
     private final ProductService productService;
+    private final UniqueCountService uniqueCountService;
 
     @GetMapping("newest")
     public Object getNewestProducts() {
@@ -49,8 +55,10 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public Object getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public Object getProductById(@PathVariable Long id, HttpServletRequest request, Authentication authentication) {
+        var product = productService.getProductById(id);
+        uniqueCountService.recordProductVisit(id, visitorOf(request, authentication));
+        return ResponseEntity.ok(product);
     }
 
     @GetMapping("/search")
@@ -75,4 +83,15 @@ public class ProductController {
     private int getPage(int page) {
         return Math.max(page, 1);
     }
-}
\ No newline at end of file
+
+    /**
+     * Signed-in users count once across devices; anonymous visitors by address and browser.
+     */
+    private static String visitorOf(HttpServletRequest request, Authentication authentication) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "anon:" + NetworkUtils.getClientIpAddress(request) + "|" + request.getHeader("User-Agent");
+    }
+}
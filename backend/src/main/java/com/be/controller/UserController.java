@@ -32,4 +32,9 @@ public class UserController {
     public Object changePassword(Authentication authentication, @Valid @RequestBody ChangePasswordRequest request) {
         return ResponseEntity.ok(userService.changePassword(authentication.getName(), request));
     }
+
+    @PostMapping("/logout-all")
+    public Object logoutAllSessions(Authentication authentication) {
+        return ResponseEntity.ok(userService.logoutAllSessions(authentication.getName()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.be.dto.admin;
+
+import com.be.dto.product.StockLevel;
+import com.be.entity.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Incremental dashboard change pushed on {@code /admin/dashboard/stream}; the event name
+ * of each frame is the lower-case {@link Type}. Fields not relevant to a type are omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardDelta {
+
+    public enum Type {
+        NEW_ORDER,
+        STATUS_CHANGE,
+        /**
+         * Delivered revenue moved by {@code revenueDelta} (negative when an order leaves DELIVERED).
+         */
+        REVENUE,
+        LOW_STOCK
+    }
+
+    private Type type;
+    private Long orderId;
+    private Long userId;
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private BigDecimal total;
+    private BigDecimal revenueDelta;
+    private Long productId;
+    private String productName;
+    private Integer stock;
+    private StockLevel stockLevel;
+    private LocalDateTime occurredAt;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -39,6 +40,9 @@ public class DashboardResponse {
     private List<TopProductResponse> topProducts;
     private List<MonthlyGrowthResponse> monthlyGrowth;
     private LocalDateTime generatedAt;
+
+    /** Section name to error for sections that failed; their fields are left null. Absent when complete. */
+    private Map<String, String> sectionErrors;
     
     @Data
     @NoArgsConstructor
@@ -0,0 +1,39 @@
+package com.be.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeSeriesResponse {
+    private TimeGranularity granularity;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Long productId;
+    private Long categoryId;
+    private List<Point> points;
+
+    /**
+     * Delivered orders, revenue and units of orders created in the bucket. When filtered
+     * by product or category, orders counts each matching product of an order and
+     * newCustomers is omitted.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+        private LocalDateTime bucket;
+        private Long orders;
+        private Double revenue;
+        private Long units;
+        private Long newCustomers;
+    }
+}
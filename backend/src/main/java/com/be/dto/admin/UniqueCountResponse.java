@@ -0,0 +1,27 @@
+package com.be.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * HyperLogLog estimate of a distinct count. The true value lies within
+ * {@code [lowerBound, upperBound]} (two standard errors) about 95% of the time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UniqueCountResponse {
+    private UniqueMetric metric;
+    private Long key;
+    private LocalDate from;
+    private LocalDate to;
+    private long estimate;
+    private double relativeStandardError;
+    private long lowerBound;
+    private long upperBound;
+}
@@ -0,0 +1,15 @@
+package com.be.dto.admin;
+
+/**
+ * Approximate distinct counts kept per key and day.
+ */
+public enum UniqueMetric {
+    /**
+     * Distinct visitors of a product's detail page; the key is the product id.
+     */
+    PRODUCT_VISITORS,
+    /**
+     * Distinct customers who ordered from a category; the key is the category id.
+     */
+    CATEGORY_BUYERS
+}
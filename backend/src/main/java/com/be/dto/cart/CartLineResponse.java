@@ -0,0 +1,24 @@
+package com.be.dto.cart;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartLineResponse {
+    private Long productId;
+    private String name;
+    private String image;
+    private BigDecimal unitPrice;
+    private Integer quantity;
+    private Integer stock;
+    private BigDecimal lineTotal;
+    private boolean available;
+    private String message;
+}
@@ -0,0 +1,27 @@
+package com.be.dto.cart;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CartResponse {
+    private Long cartId;
+    private List<CartLineResponse> lines;
+    private Integer itemCount;
+    private BigDecimal subtotal;
+    private BigDecimal tax;
+    private BigDecimal shipping;
+    private BigDecimal total;
+    /** {@code true} when the cart is non-empty and every line can be ordered as priced. */
+    private boolean valid;
+    private LocalDateTime pricedAt;
+}
@@ -0,0 +1,28 @@
+package com.be.dto.order;
+
+import com.be.entity.OrderStatus;
+import com.be.validation.ValidOrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateOrderStatusRequest {
+
+    @NotEmpty(message = "Order IDs cannot be empty")
+    @Size(max = 1000, message = "At most 1000 orders can be updated at once")
+    private List<@NotNull Long> orderIds;
+
+    @NotNull(message = "Order status is required")
+    @ValidOrderStatus
+    private OrderStatus status;
+}
@@ -0,0 +1,30 @@
+package com.be.dto.order;
+
+import com.be.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkUpdateOrderStatusResponse {
+    private OrderStatus status;
+    private int requested;
+    private List<Long> updatedOrderIds;
+    private List<Long> unchangedOrderIds;
+    private List<Failure> failures;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Failure {
+        private Long orderId;
+        private String reason;
+    }
+}
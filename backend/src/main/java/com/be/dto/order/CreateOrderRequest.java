@@ -20,10 +20,16 @@ public class CreateOrderRequest {
     @NotEmpty(message = "Phone cannot be empty")
     private String phone;
 
-    @NotEmpty(message = "Order items cannot be empty")
+    /** Explicit order lines; ignored when {@link #cartId} is given. */
     @Valid
     private List<CreateOrderItemRequest> items;
 
+    /** Checks out the caller's server-side cart instead of {@link #items}. */
+    private Long cartId;
+
+    /** Token from {@code POST /orders/quote}; lets the order reuse the quoted prices while it is valid. */
+    private String quoteToken;
+
     @NotNull(message = "Shipping address is required")
     private String shippingAddress;
 
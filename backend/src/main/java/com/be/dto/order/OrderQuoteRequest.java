@@ -0,0 +1,20 @@
+package com.be.dto.order;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderQuoteRequest {
+    @NotEmpty(message = "Order items cannot be empty")
+    @Valid
+    private List<CreateOrderItemRequest> items;
+}
@@ -0,0 +1,41 @@
+package com.be.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderQuoteResponse {
+    private List<Line> lines;
+    private BigDecimal subtotal;
+    private BigDecimal tax;
+    private BigDecimal shipping;
+    private BigDecimal total;
+    private boolean valid;
+    /** Present only when every line is available; pass it as {@code quoteToken} when creating the order. */
+    private String quoteToken;
+    private LocalDateTime expiresAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        private Long productId;
+        private String name;
+        private BigDecimal unitPrice;
+        private Integer quantity;
+        private Integer stock;
+        private BigDecimal lineTotal;
+        private boolean available;
+        private String message;
+    }
+}
@@ -23,6 +23,9 @@ public class CreateProductRequest {
     private String description;
 
     private Integer stock;
+
+    @Min(value = 0, message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
     
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.01", message = "Price must be greater than 0")
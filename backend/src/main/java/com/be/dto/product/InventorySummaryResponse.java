@@ -0,0 +1,21 @@
+package com.be.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stock counters over active products.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySummaryResponse {
+    private long activeProducts;
+    private long productsInStock;
+    private long outOfStockProducts;
+    private long lowStockProducts;
+    private long totalInventoryUnits;
+}
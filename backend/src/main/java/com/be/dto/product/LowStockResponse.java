@@ -0,0 +1,18 @@
+package com.be.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockResponse {
+    private Long productId;
+    private String name;
+    private Integer stock;
+    private Integer lowStockThreshold;
+    private StockLevel level;
+}
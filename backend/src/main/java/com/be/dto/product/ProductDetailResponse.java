@@ -19,6 +19,7 @@ public class ProductDetailResponse {
     private String description;
     private String manufacturer;
     private Integer stock;
+    private Integer lowStockThreshold;
     private BigDecimal price;
     private List<String> images;
     private CategoryResponse category;
@@ -25,4 +25,5 @@ public class ProductResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Integer stock;
+    private Integer lowStockThreshold;
 }
\ No newline at end of file
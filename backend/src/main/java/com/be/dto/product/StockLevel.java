@@ -0,0 +1,14 @@
+package com.be.dto.product;
+
+public enum StockLevel {
+    IN_STOCK,
+    LOW_STOCK,
+    OUT_OF_STOCK;
+
+    public static StockLevel of(int quantity, int lowStockThreshold) {
+        if (quantity <= 0) {
+            return OUT_OF_STOCK;
+        }
+        return quantity <= lowStockThreshold ? LOW_STOCK : IN_STOCK;
+    }
+}
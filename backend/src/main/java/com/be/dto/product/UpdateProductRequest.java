@@ -22,6 +22,9 @@ public class UpdateProductRequest {
     private String manufacturer;
     private Integer stock;
 
+    @Min(value = 0, message = "Low stock threshold cannot be negative")
+    private Integer lowStockThreshold;
+
     @Size(max = 1000, message = "Description cannot exceed 1000 characters")
     private String description;
 
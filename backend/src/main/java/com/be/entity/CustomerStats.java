@@ -0,0 +1,44 @@
+package com.be.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer order aggregates, maintained from order events. Covers hot and
+ * archived orders; customers without orders have no row.
+ */
+@Entity
+@Table(name = "customer_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long orderCount = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long deliveredOrderCount = 0L;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal deliveredSpend = BigDecimal.ZERO;
+
+    private LocalDateTime firstOrderAt;
+
+    private LocalDateTime lastOrderAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
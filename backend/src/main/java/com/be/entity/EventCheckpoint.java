@@ -0,0 +1,33 @@
+package com.be.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventCheckpoint {
+    @Id
+    private String consumer;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long lastEventId = 0L;
+
+    /**
+     * Outbox ids at or below {@code lastEventId} that were not yet visible when the
+     * checkpoint passed them, as {@code id:firstSeenEpochMillis} pairs separated by commas.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String gaps;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.be.entity;
+
+/**
+ * Shared settings for the table-backed pooled id generator. MySQL has no sequences,
+ * so ids are reserved in blocks of {@link #ALLOCATION_SIZE} from one row per entity
+ * in {@link #TABLE}, which keeps inserts batchable unlike {@code IDENTITY}.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
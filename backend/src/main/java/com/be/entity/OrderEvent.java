@@ -0,0 +1,47 @@
+package com.be.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same transaction as the order change it describes.
+ */
+@Entity
+@Table(name = "order_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderEventType type;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus toStatus;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal total;
+
+    private LocalDateTime orderCreatedAt;
+
+    @CreationTimestamp
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,7 @@
+package com.be.entity;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_STATUS_CHANGED,
+    ORDER_CANCELLED
+}
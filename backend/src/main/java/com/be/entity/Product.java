@@ -1,5 +1,6 @@
 package com.be.entity;
 
+import com.be.event.ProductChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,6 +13,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "medicines")
+@EntityListeners(ProductChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,12 +22,19 @@ import java.util.Set;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "product_id")
+    @TableGenerator(name = "product_id", table = IdGenerators.TABLE,
+            pkColumnName = IdGenerators.NAME_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+            pkColumnValue = "medicines", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String name;
     private Integer quantity = 0;
+    /**
+     * Stock at or below which the product counts as low; {@code null} uses the default.
+     */
+    private Integer lowStockThreshold;
     @Column(columnDefinition = "TEXT")
     private String description;
 
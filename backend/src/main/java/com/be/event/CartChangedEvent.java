@@ -0,0 +1,4 @@
+package com.be.event;
+
+public record CartChangedEvent(Long cartId) {
+}
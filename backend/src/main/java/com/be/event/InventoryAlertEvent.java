@@ -0,0 +1,11 @@
+package com.be.event;
+
+import com.be.dto.product.StockLevel;
+
+/**
+ * Published when an active product's stock level changes, after the change commits.
+ * {@code previousLevel} is {@code null} for products not seen before.
+ */
+public record InventoryAlertEvent(Long productId, String productName, int quantity, int lowStockThreshold,
+                                  StockLevel level, StockLevel previousLevel) {
+}
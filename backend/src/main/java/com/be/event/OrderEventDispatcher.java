@@ -0,0 +1,331 @@
+package com.be.event;
+
+import com.be.config.OrderConfig;
+import com.be.entity.EventCheckpoint;
+import com.be.entity.OrderEvent;
+import com.be.repository.EventCheckpointRepository;
+import com.be.repository.OrderEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Polls the outbox and fans events out to every registered {@link OrderEventListener}.
+ * Each batch is read once; every listener then consumes the events past its own
+ * checkpoint in a separate transaction, so a failing listener only delays itself.
+ * The checkpoint is locked while a listener consumes, and its database writes commit
+ * together with it.
+ * <p>
+ * Outbox ids come from an identity column and are assigned at insert, so a transaction
+ * holding a lower id can commit after higher ids were consumed. When a checkpoint
+ * passes ids that are not visible yet, they are stored with it as gaps and re-polled
+ * until they appear or {@code order.events.gap-timeout-ms} passes (a rolled-back
+ * transaction leaves its id unused for good). Late events are delivered out of id
+ * order, so listeners must not depend on ordering across orders.
+ * <p>
+ * Listeners with in-memory state get a checkpoint per process
+ * ({@link #instanceConsumer}); those rows are removed on shutdown, kept alive by the
+ * daily purge, and forgotten after the retention period once their process is gone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventDispatcher {
+
+    // bounds the gaps stored per checkpoint should many transactions roll back at once
+    private static final int MAX_GAPS = 1_000;
+    private static final String INSTANCE_SEPARATOR = "@";
+
+    private final ObjectProvider<OrderEventListener> listeners;
+    private final OrderEventRepository orderEventRepository;
+    private final EventCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderConfig.EventsProperties properties;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /**
+     * A listener's position: everything up to {@code position} was delivered except the
+     * {@code gaps} (outbox id to the time it was first found missing).
+     */
+    private record Cursor(long position, TreeMap<Long, Long> gaps) {
+    }
+
+    @Scheduled(fixedDelayString = "${order.events.dispatch-interval-ms:1000}")
+    public void dispatch() {
+        Map<String, Cursor> cursors = new HashMap<>();
+        var activeListeners = new ArrayList<OrderEventListener>();
+        for (var listener : listeners.orderedStream().toList()) {
+            // listeners without a checkpoint have not been built yet
+            checkpointRepository.findById(listener.getName()).ifPresent(checkpoint -> {
+                cursors.put(listener.getName(), cursorOf(checkpoint));
+                activeListeners.add(listener);
+            });
+        }
+        if (activeListeners.isEmpty()) {
+            return;
+        }
+
+        redeliverGaps(activeListeners, cursors);
+
+        while (true) {
+            var from = cursors.values().stream().mapToLong(Cursor::position).min().orElse(0L);
+            var events = orderEventRepository.findByIdGreaterThanOrderByIdAsc(
+                    from, PageRequest.of(0, properties.getBatchSize()));
+            if (events.isEmpty()) {
+                return;
+            }
+
+            var progressed = false;
+            for (var listener : activeListeners) {
+                var cursor = cursors.get(listener.getName());
+                if (cursor == null) {
+                    continue;
+                }
+                try {
+                    var advanced = deliver(listener, cursor, events);
+                    progressed |= advanced.position() > cursor.position();
+                    cursors.put(listener.getName(), advanced);
+                } catch (Exception e) {
+                    log.error("Order event listener {} failed after event {}: {}",
+                            listener.getName(), cursor.position(), e.getMessage(), e);
+                    cursors.remove(listener.getName());
+                }
+            }
+
+            if (!progressed || cursors.isEmpty() || events.size() < properties.getBatchSize()) {
+                return;
+            }
+        }
+    }
+
+    private Cursor deliver(OrderEventListener listener, Cursor cursor, List<OrderEvent> events) {
+        var pending = events.stream().filter(event -> event.getId() > cursor.position()).toList();
+        if (pending.isEmpty()) {
+            return cursor;
+        }
+
+        return transactionTemplate.execute(status -> {
+            // re-read under lock: a rebuild may have moved the checkpoint past these events
+            var locked = checkpointRepository.lockByConsumer(listener.getName())
+                    .map(OrderEventDispatcher::cursorOf)
+                    .orElse(cursor);
+            if (locked.position() < cursor.position()) {
+                // ...or back before this batch; continue from there on the next read
+                return locked;
+            }
+
+            var gaps = locked.gaps();
+            var now = System.currentTimeMillis();
+            var recentAfter = LocalDateTime.now().minusNanos(properties.getGapTimeoutMs() * 1_000_000);
+            var expected = locked.position() + 1;
+            for (var event : pending) {
+                if (event.getId() <= locked.position()) {
+                    continue;
+                }
+                // ids skipped by an event inserted within the timeout may still commit
+                if (event.getOccurredAt().isAfter(recentAfter)) {
+                    for (var id = Math.max(expected, event.getId() - MAX_GAPS); id < event.getId(); id++) {
+                        gaps.put(id, now);
+                    }
+                }
+                listener.onEvent(event);
+                expected = event.getId() + 1;
+            }
+            while (gaps.size() > MAX_GAPS) {
+                log.warn("Order event listener {} gave up on missing event {}", listener.getName(), gaps.firstKey());
+                gaps.pollFirstEntry();
+            }
+
+            var advanced = new Cursor(Math.max(locked.position(), pending.getLast().getId()), gaps);
+            save(listener.getName(), advanced);
+            return advanced;
+        });
+    }
+
+    /**
+     * Delivers gap events that have committed since, and drops gaps past the timeout.
+     */
+    private void redeliverGaps(List<OrderEventListener> activeListeners, Map<String, Cursor> cursors) {
+        var gapIds = new TreeSet<Long>();
+        cursors.values().forEach(cursor -> gapIds.addAll(cursor.gaps().keySet()));
+        if (gapIds.isEmpty()) {
+            return;
+        }
+
+        var found = orderEventRepository.findByIdInOrderByIdAsc(gapIds);
+        var expiredBefore = System.currentTimeMillis() - properties.getGapTimeoutMs();
+        for (var listener : activeListeners) {
+            var cursor = cursors.get(listener.getName());
+            var due = found.stream().anyMatch(event -> cursor.gaps().containsKey(event.getId()))
+                    || cursor.gaps().values().stream().anyMatch(firstSeen -> firstSeen < expiredBefore);
+            if (!due) {
+                continue;
+            }
+            try {
+                cursors.put(listener.getName(), transactionTemplate.execute(status -> {
+                    var locked = checkpointRepository.lockByConsumer(listener.getName())
+                            .map(OrderEventDispatcher::cursorOf)
+                            .orElse(cursor);
+                    for (var event : found) {
+                        if (locked.gaps().remove(event.getId()) != null) {
+                            listener.onEvent(event);
+                        }
+                    }
+                    locked.gaps().entrySet().removeIf(gap -> {
+                        if (gap.getValue() >= expiredBefore) {
+                            return false;
+                        }
+                        log.warn("Order event {} never appeared for listener {}; assuming it was rolled back",
+                                gap.getKey(), listener.getName());
+                        return true;
+                    });
+                    save(listener.getName(), locked);
+                    return locked;
+                }));
+            } catch (Exception e) {
+                log.error("Order event listener {} failed on late events: {}", listener.getName(), e.getMessage(), e);
+                cursors.remove(listener.getName());
+            }
+        }
+    }
+
+    /**
+     * Checkpoint name of a listener whose state lives in this process only.
+     */
+    public String instanceConsumer(String consumer) {
+        return consumer + INSTANCE_SEPARATOR + instanceId;
+    }
+
+    @PreDestroy
+    public void removeInstanceCheckpoints() {
+        transactionTemplate.executeWithoutResult(status ->
+                checkpointRepository.deleteByConsumerLike("%" + INSTANCE_SEPARATOR + instanceId));
+    }
+
+    /**
+     * Runs a listener's full rebuild in one transaction and moves its checkpoint to the
+     * newest event visible to that transaction.
+     * <p>
+     * The checkpoint row is locked before the first consistent read, so the rebuild's
+     * snapshot contains every event already delivered to the listener, and deliveries
+     * blocked on the lock skip every event the snapshot contains. Rebuilds must read
+     * with plain (non-locking) queries to stay on that snapshot. Recent ids missing from
+     * the snapshot become gaps of the new checkpoint.
+     */
+    public void rebuild(String consumer, Runnable rebuild) {
+        rebuild(consumer, this::snapshotCursor, rebuild);
+    }
+
+    /**
+     * Like {@link #rebuild(String, Runnable)} for a rebuild that reads another listener's
+     * tables instead of the orders: the checkpoint moves to the {@code source} listener's
+     * checkpoint, gaps included, as of the same snapshot, which may be behind the current one.
+     */
+    public void rebuildFrom(String consumer, String source, Runnable rebuild) {
+        rebuild(consumer, () -> checkpointRepository.findById(source)
+                .map(OrderEventDispatcher::cursorOf)
+                .orElseGet(() -> new Cursor(0L, new TreeMap<>())), rebuild);
+    }
+
+    private void rebuild(String consumer, Supplier<Cursor> position, Runnable rebuild) {
+        if (!checkpointRepository.existsById(consumer)) {
+            transactionTemplate.executeWithoutResult(status ->
+                    checkpointRepository.save(EventCheckpoint.builder().consumer(consumer).build()));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            checkpointRepository.lockByConsumer(consumer).orElseThrow();
+            var cursor = position.get();
+            rebuild.run();
+            save(consumer, cursor);
+        });
+    }
+
+    /**
+     * The newest visible event, with the ids missing among the events inserted within
+     * the gap timeout (older transactions are past the timeout anyway).
+     */
+    private Cursor snapshotCursor() {
+        var since = LocalDateTime.now().minusNanos(properties.getGapTimeoutMs() * 1_000_000);
+        var recentIds = orderEventRepository.findIdsOccurredAfter(since);
+        var gaps = new TreeMap<Long, Long>();
+        if (recentIds.isEmpty()) {
+            return new Cursor(orderEventRepository.findMaxId(), gaps);
+        }
+        var now = System.currentTimeMillis();
+        var expected = recentIds.getFirst();
+        for (var id : recentIds) {
+            for (var missing = Math.max(expected, id - MAX_GAPS); missing < id; missing++) {
+                gaps.put(missing, now);
+            }
+            expected = id + 1;
+        }
+        while (gaps.size() > MAX_GAPS) {
+            gaps.pollFirstEntry();
+        }
+        return new Cursor(recentIds.getLast(), gaps);
+    }
+
+    private void save(String consumer, Cursor cursor) {
+        checkpointRepository.save(EventCheckpoint.builder()
+                .consumer(consumer)
+                .lastEventId(cursor.position())
+                .gaps(cursor.gaps().isEmpty() ? null : cursor.gaps().entrySet().stream()
+                        .map(gap -> gap.getKey() + ":" + gap.getValue())
+                        .collect(Collectors.joining(",")))
+                .build());
+    }
+
+    private static Cursor cursorOf(EventCheckpoint checkpoint) {
+        var gaps = new TreeMap<Long, Long>();
+        if (checkpoint.getGaps() != null && !checkpoint.getGaps().isBlank()) {
+            for (var gap : checkpoint.getGaps().split(",")) {
+                var separator = gap.indexOf(':');
+                gaps.put(Long.parseLong(gap.substring(0, separator)), Long.parseLong(gap.substring(separator + 1)));
+            }
+        }
+        return new Cursor(checkpoint.getLastEventId(), gaps);
+    }
+
+    /**
+     * Removes events that every checkpoint, on every instance, has consumed once they
+     * are past retention.
+     */
+    @Scheduled(cron = "${order.events.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        var now = LocalDateTime.now();
+        var before = now.minusDays(properties.getRetentionDays());
+        transactionTemplate.executeWithoutResult(status -> {
+            // keep this process's checkpoints alive, then forget those of processes that are gone
+            checkpointRepository.touchByConsumerLike("%" + INSTANCE_SEPARATOR + instanceId, now);
+            checkpointRepository.deleteByConsumerLikeAndUpdatedAtBefore("%" + INSTANCE_SEPARATOR + "%", before);
+        });
+        // checkpoints of listeners that no longer exist are ignored
+        var names = listeners.orderedStream().map(OrderEventListener::getName).toList();
+        var minCheckpoint = names.isEmpty() ? null
+                : checkpointRepository.findMinLastEventId(names, "%" + INSTANCE_SEPARATOR + "%");
+        var consumedUpTo = minCheckpoint != null ? minCheckpoint : orderEventRepository.findMaxId();
+
+        var deleted = transactionTemplate.execute(status -> orderEventRepository.deleteDispatched(consumedUpTo, before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} dispatched order events", deleted);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.be.event;
+
+import com.be.entity.OrderEvent;
+
+/**
+ * Consumer of order lifecycle events read from the outbox.
+ * <p>
+ * Events are delivered at least once, in outbox order except for events whose
+ * transaction committed after later ones had been consumed; those follow late. Each
+ * listener is invoked inside a transaction that also advances its checkpoint, so
+ * database writes made by the listener are committed together with the checkpoint.
+ */
+public interface OrderEventListener {
+
+    /**
+     * Stable name used as the checkpoint key. Listeners that keep their state in memory
+     * use {@link OrderEventDispatcher#instanceConsumer} so that every instance consumes
+     * every event. Events are dispatched once the checkpoint exists, i.e. after the
+     * listener's first rebuild.
+     */
+    String getName();
+
+    void onEvent(OrderEvent event);
+}
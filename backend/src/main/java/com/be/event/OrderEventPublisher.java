@@ -0,0 +1,65 @@
+package com.be.event;
+
+import com.be.entity.Order;
+import com.be.entity.OrderEvent;
+import com.be.entity.OrderEventType;
+import com.be.entity.OrderStatus;
+import com.be.repository.OrderEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes order events to the outbox. Must be called inside the transaction that
+ * changes the order so the event commits or rolls back with it.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class OrderEventPublisher {
+
+    private final OrderEventRepository orderEventRepository;
+
+    public record StatusChange(Long orderId, Long userId, BigDecimal total, LocalDateTime orderCreatedAt,
+                               OrderStatus from, OrderStatus to) {
+    }
+
+    public void orderCreated(Order order) {
+        orderEventRepository.save(OrderEvent.builder()
+                .type(OrderEventType.ORDER_CREATED)
+                .orderId(order.getId())
+                .userId(order.getUser().getId())
+                .toStatus(order.getStatus())
+                .total(order.getTotal())
+                .orderCreatedAt(order.getCreatedAt())
+                .build());
+    }
+
+    public void statusChanged(Order order, OrderStatus from) {
+        statusChanged(List.of(new StatusChange(order.getId(), order.getUser().getId(), order.getTotal(),
+                order.getCreatedAt(), from, order.getStatus())));
+    }
+
+    public void statusChanged(List<StatusChange> changes) {
+        var events = changes.stream()
+                .filter(change -> change.from() != change.to())
+                .map(change -> OrderEvent.builder()
+                        .type(change.to() == OrderStatus.CANCELLED
+                                ? OrderEventType.ORDER_CANCELLED
+                                : OrderEventType.ORDER_STATUS_CHANGED)
+                        .orderId(change.orderId())
+                        .userId(change.userId())
+                        .fromStatus(change.from())
+                        .toStatus(change.to())
+                        .total(change.total())
+                        .orderCreatedAt(change.orderCreatedAt())
+                        .build())
+                .toList();
+        orderEventRepository.saveAll(events);
+    }
+}
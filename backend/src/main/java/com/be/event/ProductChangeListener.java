@@ -0,0 +1,30 @@
+package com.be.event;
+
+import com.be.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * JPA entity listener turning product writes made through Hibernate into
+ * {@link ProductsChangedEvent}s. Bulk JPQL/native updates bypass it and publish the
+ * event themselves.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Product product) {
+        eventPublisher.publishEvent(new ProductsChangedEvent(Set.of(product.getId())));
+    }
+}
@@ -0,0 +1,10 @@
+package com.be.event;
+
+import java.util.Set;
+
+/**
+ * Published whenever product rows change (price, stock, status). Consumers that cache
+ * product-derived data should listen after commit.
+ */
+public record ProductsChangedEvent(Set<Long> productIds) {
+}
@@ -0,0 +1,8 @@
+package com.be.event;
+
+/**
+ * Published when a user is created or changed (profile, status or password); the user
+ * search index and the user status cache re-read the user after commit.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,27 @@
+package com.be.repository;
+
+import com.be.entity.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, Long> {
+    @Query("SELECT c.id FROM Cart c WHERE c.user.email = :email")
+    Optional<Long> findIdByUserEmail(@Param("email") String email);
+
+    @Query("SELECT c.user.id FROM Cart c WHERE c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT c FROM Cart c WHERE c.id = :id")
+    Optional<Cart> findWithItemsById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT c FROM Cart c WHERE c.user.email = :email")
+    Optional<Cart> findWithItemsByUserEmail(@Param("email") String email);
+}
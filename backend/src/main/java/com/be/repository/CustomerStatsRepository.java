@@ -0,0 +1,70 @@
+package com.be.repository;
+
+import com.be.entity.CustomerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_stats (user_id, order_count, delivered_order_count, delivered_spend,
+                                        first_order_at, last_order_at, updated_at)
+            VALUES (:userId, 1, 0, 0, :createdAt, :createdAt, NOW(6))
+            ON DUPLICATE KEY UPDATE order_count = order_count + 1,
+                                    first_order_at = LEAST(COALESCE(first_order_at, VALUES(first_order_at)), VALUES(first_order_at)),
+                                    last_order_at = GREATEST(COALESCE(last_order_at, VALUES(last_order_at)), VALUES(last_order_at)),
+                                    updated_at = VALUES(updated_at)
+            """, nativeQuery = true)
+    void recordOrder(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO customer_stats (user_id, order_count, delivered_order_count, delivered_spend, updated_at)
+            VALUES (:userId, 0, :orders, :spend, NOW(6))
+            ON DUPLICATE KEY UPDATE delivered_order_count = delivered_order_count + VALUES(delivered_order_count),
+                                    delivered_spend = delivered_spend + VALUES(delivered_spend),
+                                    updated_at = VALUES(updated_at)
+            """, nativeQuery = true)
+    void addDelivered(@Param("userId") Long userId, @Param("orders") long orders, @Param("spend") BigDecimal spend);
+
+    @Modifying
+    @Query(value = "DELETE FROM customer_stats", nativeQuery = true)
+    void deleteAllStats();
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM users", nativeQuery = true)
+    long findMaxUserId();
+
+    /**
+     * Rows of {@code (user_id, orders, delivered orders, delivered spend, first order, last order)}
+     * over hot and archived orders of users in {@code [fromUserId, toUserId)}.
+     */
+    @Query(value = """
+            SELECT user_id, SUM(orders), SUM(delivered_orders), SUM(delivered_spend), MIN(first_order), MAX(last_order)
+            FROM (
+                SELECT user_id, COUNT(*) AS orders,
+                       SUM(CASE WHEN status = 'DELIVERED' THEN 1 ELSE 0 END) AS delivered_orders,
+                       COALESCE(SUM(CASE WHEN status = 'DELIVERED' THEN total END), 0) AS delivered_spend,
+                       MIN(created_at) AS first_order, MAX(created_at) AS last_order
+                FROM orders WHERE user_id >= :fromUserId AND user_id < :toUserId
+                GROUP BY user_id
+                UNION ALL
+                SELECT user_id, COUNT(*),
+                       SUM(CASE WHEN status = 'DELIVERED' THEN 1 ELSE 0 END),
+                       COALESCE(SUM(CASE WHEN status = 'DELIVERED' THEN total END), 0),
+                       MIN(created_at), MAX(created_at)
+                FROM orders_archive WHERE user_id >= :fromUserId AND user_id < :toUserId
+                GROUP BY user_id
+            ) stats
+            GROUP BY user_id
+            """, nativeQuery = true)
+    List<Object[]> aggregateByUserRange(@Param("fromUserId") long fromUserId, @Param("toUserId") long toUserId);
+}
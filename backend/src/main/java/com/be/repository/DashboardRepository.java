@@ -1,18 +1,14 @@
 package com.be.repository;
 import java.time.LocalDateTime;
-import java.util.List;
 
 public interface DashboardRepository {
 
-    Object[] getDashboardOverview();
-
-    List<Object[]> getTopProductsByRevenue(int limit);
+    /**
+     * {@code (active customers, active products, categories)}.
+     */
+    Object[] getCatalogOverview();
 
     Object[] getCustomerAnalytics();
 
-    Object[] getInventoryStatus(int lowStockThreshold);
-
-    Object[] getRecentActivity(LocalDateTime since);
-
-    List<Object[]> getMonthlyGrowthTrends(LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+    long countProductsCreatedSince(LocalDateTime since);
+}
@@ -0,0 +1,106 @@
+package com.be.repository;
+
+import com.be.dto.admin.TimeGranularity;
+import com.be.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-day and per-hour aggregates backing the admin dashboard and charts: orders and
+ * order value by status, units sold in total and per product (delivered orders) and new
+ * customers.
+ * Writes update both resolutions.
+ */
+public interface DashboardRollupRepository {
+
+    enum Resolution {
+        DAY,
+        HOUR
+    }
+
+    void createRollupTables();
+
+    void addOrders(LocalDateTime orderCreatedAt, OrderStatus status, long orders, BigDecimal revenue);
+
+    /**
+     * Adds ({@code sign = 1}) or removes ({@code sign = -1}) the items of an order from
+     * the product rollups of the bucket it was created in.
+     */
+    void addProductSales(LocalDateTime orderCreatedAt, Long orderId, int sign);
+
+    /**
+     * Sets the units of the delivered order rollups from the product rollups, after
+     * those have been rebuilt.
+     */
+    void fillDeliveredUnits(Resolution resolution);
+
+    void addNewCustomers(LocalDateTime registeredAt, long customers);
+
+    void clearRollups();
+
+    /**
+     * Rows of {@code (bucket, status, orders, revenue)} recomputed from hot and archived orders.
+     */
+    List<Object[]> aggregateOrders(Resolution resolution);
+
+    /**
+     * Rows of {@code (bucket, product_id, units, revenue, orders)} for delivered orders.
+     */
+    List<Object[]> aggregateProductSales(Resolution resolution);
+
+    /**
+     * Rows of {@code (bucket, new_customers)}.
+     */
+    List<Object[]> aggregateNewCustomers(Resolution resolution);
+
+    void insertOrderRollups(Resolution resolution, List<Object[]> rows);
+
+    void insertProductRollups(Resolution resolution, List<Object[]> rows);
+
+    void insertCustomerRollups(Resolution resolution, List<Object[]> rows);
+
+    /**
+     * {@code (total orders, delivered orders, delivered revenue, pending orders)}.
+     */
+    Object[] getOrderTotals();
+
+    /**
+     * {@code (orders, pending orders, new customers)} for orders and customers created since {@code since}.
+     */
+    Object[] getRecentActivity(LocalDate since);
+
+    /**
+     * Rows of {@code (YYYY-MM, delivered orders, delivered revenue, new customers)}.
+     */
+    List<Object[]> getMonthlyGrowth(LocalDate from, LocalDate to);
+
+    /**
+     * Rows of {@code (product id, revenue, units, orders)} over all time, for products with sales.
+     */
+    List<Object[]> getProductSalesTotals();
+
+    /**
+     * Rows of {@code (product id, units, revenue)} of one order's items.
+     */
+    List<Object[]> getOrderProductSales(Long orderId);
+
+    /**
+     * Rows of {@code (bucket start, delivered orders, delivered revenue, delivered units)}.
+     */
+    List<Object[]> getOrderSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Rows of {@code (bucket start, orders, revenue, units)} of delivered sales of one
+     * product or one category. Unfiltered series come from {@link #getOrderSeries}.
+     */
+    List<Object[]> getProductSalesSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                         Long productId, Long categoryId);
+
+    /**
+     * Rows of {@code (bucket start, new customers)}.
+     */
+    List<Object[]> getNewCustomerSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to);
+}
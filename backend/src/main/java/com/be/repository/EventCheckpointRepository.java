@@ -0,0 +1,36 @@
+package com.be.repository;
+
+import com.be.entity.EventCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface EventCheckpointRepository extends JpaRepository<EventCheckpoint, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM EventCheckpoint c WHERE c.consumer = :consumer")
+    Optional<EventCheckpoint> lockByConsumer(@Param("consumer") String consumer);
+
+    @Query("SELECT MIN(c.lastEventId) FROM EventCheckpoint c WHERE c.consumer IN :consumers OR c.consumer LIKE :pattern")
+    Long findMinLastEventId(@Param("consumers") Collection<String> consumers, @Param("pattern") String pattern);
+
+    @Modifying
+    @Query("UPDATE EventCheckpoint c SET c.updatedAt = :now WHERE c.consumer LIKE :pattern")
+    int touchByConsumerLike(@Param("pattern") String pattern, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EventCheckpoint c WHERE c.consumer LIKE :pattern AND c.updatedAt < :before")
+    int deleteByConsumerLikeAndUpdatedAtBefore(@Param("pattern") String pattern, @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM EventCheckpoint c WHERE c.consumer LIKE :pattern")
+    int deleteByConsumerLike(@Param("pattern") String pattern);
+}
@@ -0,0 +1,44 @@
+package com.be.repository;
+
+import com.be.dto.admin.UniqueMetric;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serialized HyperLogLog sketches, one row per metric, key (product or category id) and day.
+ */
+public interface HllSketchRepository {
+
+    void createSketchTable();
+
+    /**
+     * The stored sketch, locked until the transaction ends; an empty sketch row is
+     * created first if there is none.
+     */
+    byte[] lockSketch(UniqueMetric metric, long key, LocalDate day);
+
+    /**
+     * Rows of {@code (day, sketch)} between {@code from} and {@code to}, inclusive.
+     */
+    List<Object[]> findSketches(UniqueMetric metric, long key, LocalDate from, LocalDate to);
+
+    /**
+     * Inserts or replaces rows of {@code (metric, key, day, sketch)}.
+     */
+    void saveSketches(List<Object[]> rows);
+
+    void deleteSketches(UniqueMetric metric);
+
+    /**
+     * Day of the oldest hot or archived order, or {@code null} when there are none.
+     */
+    LocalDate findFirstOrderDay();
+
+    /**
+     * Distinct rows of {@code (category id, day, user id)} of orders created in {@code [from, to)}.
+     */
+    List<Object[]> findCategoryBuyers(LocalDate from, LocalDate to);
+
+    List<Long> findCategoryIdsByOrderId(Long orderId);
+}
@@ -0,0 +1,38 @@
+package com.be.repository;
+
+import com.be.entity.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderArchiveRepository {
+
+    void createArchiveTables();
+
+    YearMonth findNewestArchivePartition();
+
+    void addArchivePartition(YearMonth month);
+
+    LocalDateTime findOldestArchivableCreatedAt(Collection<OrderStatus> statuses, LocalDateTime before);
+
+    List<Long> findArchivableOrderIds(Collection<OrderStatus> statuses, LocalDateTime before, int limit);
+
+    void moveToArchive(List<Long> orderIds);
+
+    LocalDateTime findNewestArchivedCreatedAt();
+
+    boolean existsArchivedOrderByUserId(Long userId);
+
+    List<Object[]> findOrderHistory(Long userId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                    int offset, int limit);
+
+    long countOrderHistory(Long userId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate);
+
+    List<Object[]> countArchivedItemsByOrderIds(Collection<Long> orderIds);
+
+    Object[] findArchivedOrder(Long orderId);
+
+    List<Object[]> findArchivedItems(Long orderId);
+}
@@ -0,0 +1,30 @@
+package com.be.repository;
+
+import com.be.entity.OrderEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    List<OrderEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<OrderEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT e.id FROM OrderEvent e WHERE e.occurredAt > :since ORDER BY e.id")
+    List<Long> findIdsOccurredAfter(@Param("since") LocalDateTime since);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OrderEvent e")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM OrderEvent e WHERE e.id <= :id AND e.occurredAt < :before")
+    int deleteDispatched(@Param("id") Long id, @Param("before") LocalDateTime before);
+}
@@ -2,7 +2,18 @@ package com.be.repository;
 
 import com.be.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+    @Query("SELECT oi.order.id, COUNT(oi) FROM OrderItem oi WHERE oi.order.id IN :orderIds GROUP BY oi.order.id")
+    List<Object[]> countItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT DISTINCT oi.medicine.id FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    List<Long> findProductIdsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -1,30 +1,55 @@
 package com.be.repository;
 
 import com.be.entity.Order;
+import com.be.entity.OrderStatus;
 import com.be.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
     Optional<Order> findByTrackingNumber(String txn);
 
+    @EntityGraph(attributePaths = "user")
     Page<Order> findByUser(User user, Pageable pageable);
 
-    long countByUser(User user);
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
 
-    @Query("SELECT COALESCE(SUM(o.total), 0) FROM Order o WHERE o.user = :user AND o.status = 'DELIVERED'")
-    BigDecimal getTotalSpentByUser(@Param("user") User user);
+    @EntityGraph(attributePaths = {"user", "items", "items.medicine"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") Long id);
 
-    @Query("SELECT MAX(o.createdAt) FROM Order o WHERE o.user = :user")
-    LocalDateTime getLastOrderDateByUser(@Param("user") User user);
-}
\ No newline at end of file
+    @Query(value = "SELECT id, status, user_id, total, created_at FROM orders WHERE id IN (:ids) FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.id IN :ids AND o.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("from") OrderStatus from,
+                     @Param("to") OrderStatus to,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.shippedAt = :now WHERE o.id IN :ids")
+    int markShipped(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.deliveredAt = :now WHERE o.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -4,11 +4,13 @@ import com.be.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -27,6 +29,12 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findAllByIdIn(List<Long> ids);
 
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p IN :products")
+    List<Product> fetchImages(@Param("products") Collection<Product> products);
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT DISTINCT p FROM Product p " +
             "LEFT JOIN FETCH p.category " +
             "LEFT JOIN FETCH p.images " +
@@ -47,4 +55,36 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                   @Param("minPrice") BigDecimal minPrice,
                                   @Param("maxPrice") BigDecimal maxPrice,
                                   Pageable pageable);
-}
\ No newline at end of file
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE medicines p
+            JOIN (SELECT medicine_id, SUM(quantity) AS quantity
+                  FROM order_items
+                  WHERE order_id IN (:orderIds)
+                  GROUP BY medicine_id) restored ON restored.medicine_id = p.id
+            SET p.quantity = p.quantity + restored.quantity, p.updated_at = NOW()
+            """, nativeQuery = true)
+    int restoreStockForOrders(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Decrements stock only if the product is active and enough is left, so callers that
+     * priced the order from cached data need no prior read. Returns {@code 0} otherwise.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :id AND p.isActive = true AND p.quantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Rows of {@code (id, name, quantity, low stock threshold, active)}.
+     */
+    @Query("SELECT p.id, p.name, p.quantity, p.lowStockThreshold, p.isActive FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findStockByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.name, p.quantity, p.lowStockThreshold, p.isActive FROM Product p")
+    List<Object[]> findAllStock();
+
+    @Query("SELECT p.id, p.name FROM Product p WHERE p.id IN :ids AND p.isActive = true")
+    List<Object[]> findActiveNamesByIdIn(@Param("ids") Collection<Long> ids);
+}
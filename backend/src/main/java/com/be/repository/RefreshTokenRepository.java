@@ -0,0 +1,44 @@
+package com.be.repository;
+
+import com.be.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Revokes a token in favour of its successor; 0 if it was already revoked (reuse) or is unknown.
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.replacedBy = :replacedBy " +
+            "WHERE t.id = :id AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    int rotate(@Param("id") String id, @Param("replacedBy") String replacedBy, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    List<String> findActiveIdsByFamilyId(@Param("familyId") String familyId);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    List<String> findActiveIdsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id IN :ids AND t.revokedAt IS NULL")
+    int revokeByIdIn(@Param("ids") Collection<String> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Rows of {@code (id, revokedAt, expiresAt)} revoked at or after {@code since} and not yet expired.
+     */
+    @Query("SELECT t.id, t.revokedAt, t.expiresAt FROM RefreshToken t WHERE t.revokedAt >= :since AND t.expiresAt > :now")
+    List<Object[]> findRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,18 +1,64 @@
 package com.be.repository;
 
+import com.be.dto.admin.UserResponse;
 import com.be.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+    /**
+     * Admin view of a user with its order aggregates from {@code customer_stats}, in one
+     * select; customers without orders have no stats row and get zeros.
+     */
+    String USER_RESPONSE = """
+            SELECT new com.be.dto.admin.UserResponse(u.id, u.email, u.fullName, u.phone, u.role, u.isActive,
+                   u.createdAt, u.updatedAt, u.address, COALESCE(s.orderCount, 0L),
+                   CAST(COALESCE(s.deliveredSpend, 0) AS Double), s.lastOrderAt)
+            FROM User u LEFT JOIN CustomerStats s ON s.userId = u.id
+            """;
+
+    @Query(value = USER_RESPONSE + " ORDER BY u.createdAt DESC", countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponse> findUserResponses(Pageable pageable);
+
+    @Query(USER_RESPONSE + " WHERE u.id IN :ids")
+    List<UserResponse> findUserResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(USER_RESPONSE + " WHERE u.id = :id")
+    Optional<UserResponse> findUserResponseById(@Param("id") Long id);
+
+    /**
+     * Rows of {@code (id, email, full name, phone)} for the user search index.
+     */
+    @Query("SELECT u.id, u.email, u.fullName, u.phone FROM User u ORDER BY u.id")
+    List<Object[]> findSearchFields();
+
+    @Query("SELECT u.id, u.email, u.fullName, u.phone FROM User u WHERE u.id = :id")
+    List<Object[]> findSearchFieldsById(@Param("id") Long id);
+
+    @Query("SELECT u.id, u.email, u.fullName, u.phone FROM User u WHERE u.updatedAt >= :since")
+    List<Object[]> findSearchFieldsUpdatedSince(@Param("since") LocalDateTime since);
+
     Optional<User> findByEmailIgnoreCase(String email);
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Rows of {@code (isActive, tokenVersion)}; empty if the user does not exist.
+     */
+    @Query("SELECT u.isActive, u.tokenVersion FROM User u WHERE u.id = :id")
+    List<Object[]> findStatusById(@Param("id") Long id);
+
     boolean existsByEmailIgnoreCase(String email);
 
 }
\ No newline at end of file
@@ -8,7 +8,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -22,7 +21,7 @@ import java.io.IOException;
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
@@ -36,27 +35,26 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return;
         }
         final var requestTokenHeader = request.getHeader(AUTHORIZATION_HEADER);
-        var username = "";
-        var jwtToken = "";
+        UserPrincipal principal = null;
 
         if (StringUtils.hasText(requestTokenHeader) && requestTokenHeader.startsWith(BEARER_PREFIX)) {
-            jwtToken = requestTokenHeader.substring(BEARER_PREFIX.length());
             try {
-                username = jwtUtil.getUsernameFromToken(jwtToken);
+                principal = jwtUtil.verify(requestTokenHeader.substring(BEARER_PREFIX.length())).toPrincipal();
             } catch (Exception e) {
                 log.error(e.getMessage());
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // the token carries the principal; only the account status and token version are checked
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                var userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(jwtToken, userDetails)) {
+                var status = userStatusCache.get(principal.getId());
+                if (status != null && status.active() && status.tokenVersion() == principal.getTokenVersion()) {
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails,
+                                    principal,
                                     null,
-                                    userDetails.getAuthorities()
+                                    principal.getAuthorities()
                             );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
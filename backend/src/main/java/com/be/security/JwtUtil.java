@@ -1,21 +1,30 @@
 package com.be.security;
 
+import com.be.config.AuthConfig;
+import com.be.entity.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
@@ -28,16 +37,49 @@ public class JwtUtil {
     @Value("${jwt.refresh.expiration}")
     private Long refreshExpiration;
 
-    public String generateToken(UserDetails userDetails) {
+    private final AuthConfig.TokenCacheProperties tokenCacheProperties;
+
+    // both immutable and thread-safe, so built once
+    private SecretKey signingKey;
+    private JwtParser parser;
+    // successful verifications by SHA-256 of the token, until the token expires
+    private final Map<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TYPE = "type";
+    public static final String CLAIM_FAMILY = "fid";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    public String generateToken(UserPrincipal principal) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities().iterator().next().getAuthority());
-        return createToken(claims, userDetails.getUsername(), expiration);
+        claims.put(CLAIM_ROLE, principal.getAuthorities().iterator().next().getAuthority());
+        claims.put(CLAIM_USER_ID, principal.getId());
+        claims.put(CLAIM_NAME, principal.getFullName());
+        claims.put(CLAIM_TOKEN_VERSION, principal.getTokenVersion());
+        return createToken(claims, principal.getUsername(), expiration);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
+    public String generateRefreshToken(UserPrincipal principal, String tokenId, String familyId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("type", "refresh");
-        return createToken(claims, userDetails.getUsername(), refreshExpiration);
+        claims.put(CLAIM_TYPE, "refresh");
+        claims.put(CLAIM_USER_ID, principal.getId());
+        claims.put(Claims.ID, tokenId);
+        claims.put(CLAIM_FAMILY, familyId);
+        return createToken(claims, principal.getUsername(), refreshExpiration);
+    }
+
+    public Duration getRefreshTokenLifetime() {
+        return Duration.ofMillis(refreshExpiration);
     }
 
     private String createToken(Map<String, Object> claims, String subject, Long expirationTime) {
@@ -49,61 +91,67 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-    }
-
-    public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
-    }
+    /**
+     * Checks the signature and expiry of {@code token} and reads its claims once.
+     *
+     * @throws RuntimeException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (!tokenCacheProperties.isEnabled()) {
+            return parse(token);
+        }
+        var key = sha256(token);
+        var cached = verified.get(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            verified.remove(key);
+        }
 
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
+        var result = parse(token);
+        if (verified.size() >= tokenCacheProperties.getMaxSize()) {
+            verified.values().removeIf(VerifiedToken::isExpired);
+            // still full of live tokens: start over, they are only re-verified once more
+            if (verified.size() >= tokenCacheProperties.getMaxSize()) {
+                verified.clear();
+            }
+        }
+        verified.put(key, result);
+        return result;
     }
 
-    private Claims getAllClaimsFromToken(String token) {
+    private VerifiedToken parse(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            var claims = parser.parseSignedClaims(token).getPayload();
+            var role = claims.get(CLAIM_ROLE, String.class);
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    claims.get(CLAIM_USER_ID, Long.class),
+                    role != null ? Role.valueOf(role.substring(ROLE_PREFIX.length())) : null,
+                    claims.get(CLAIM_NAME, String.class),
+                    claims.get(CLAIM_TOKEN_VERSION, Integer.class),
+                    "refresh".equals(claims.get(CLAIM_TYPE)),
+                    claims.getId(),
+                    claims.get(CLAIM_FAMILY, String.class),
+                    claims.getIssuedAt().toInstant(),
+                    claims.getExpiration().toInstant());
         } catch (Exception e) {
             log.error("Error parsing JWT token: {}", e.getMessage());
             throw new RuntimeException("Invalid JWT token", e);
         }
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
-    }
-
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = getUsernameFromToken(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e) {
-            log.error("Token validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    public Boolean isTokenValid(String token) {
+    private static String sha256(String token) {
         try {
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Token validation failed: {}", e.getMessage());
-            return false;
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,135 @@
+package com.be.security;
+
+import com.be.config.AuthConfig;
+import com.be.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed-window attempt counters for password endpoints: every attempt counts against the
+ * client address, and failed passwords count against the account until it signs in.
+ * Counters are split over lock stripes by key, so concurrent attempts from different
+ * clients rarely contend; expired windows are purged every minute.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 64;
+
+    private final AuthConfig.ThrottleProperties properties;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Counter addressRejected;
+    private final Counter accountRejected;
+
+    private static final class Stripe {
+        private final Map<String, Window> windows = new HashMap<>();
+    }
+
+    private static final class Window {
+        private final long expiresAt;
+        private int count;
+
+        private Window(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public LoginThrottle(AuthConfig.ThrottleProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (var i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.addressRejected = Counter.builder("auth.throttle.rejected").tag("scope", "address").register(meterRegistry);
+        this.accountRejected = Counter.builder("auth.throttle.rejected").tag("scope", "account").register(meterRegistry);
+    }
+
+    /**
+     * Counts an attempt from {@code address}, rejecting it once the address has used up
+     * its window.
+     */
+    public void checkAddress(String address) {
+        var retryAfter = increment("address:" + address, properties.getAddressMaxAttempts(),
+                properties.getAddressWindowMs());
+        if (retryAfter > 0) {
+            addressRejected.increment();
+            throw new TooManyRequestsException("Too many attempts from this address, please try again later", retryAfter);
+        }
+    }
+
+    /**
+     * Rejects an attempt on an account with too many recent failed passwords.
+     */
+    public void checkAccount(String email) {
+        var key = accountKey(email);
+        var stripe = stripe(key);
+        synchronized (stripe) {
+            var window = stripe.windows.get(key);
+            var now = System.currentTimeMillis();
+            if (window != null && window.expiresAt > now && window.count >= properties.getAccountMaxFailures()) {
+                accountRejected.increment();
+                throw new TooManyRequestsException("Too many failed attempts for this account, please try again later",
+                        secondsUntil(window.expiresAt, now));
+            }
+        }
+    }
+
+    public void recordFailure(String email) {
+        increment(accountKey(email), Integer.MAX_VALUE, properties.getAccountWindowMs());
+    }
+
+    public void recordSuccess(String email) {
+        var key = accountKey(email);
+        var stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purge() {
+        var now = System.currentTimeMillis();
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                stripe.windows.values().removeIf(window -> window.expiresAt <= now);
+            }
+        }
+    }
+
+    /**
+     * Counts one attempt on {@code key}; returns the seconds until its window ends if it
+     * was already at {@code max}, otherwise 0.
+     */
+    private long increment(String key, int max, long windowMs) {
+        var stripe = stripe(key);
+        var now = System.currentTimeMillis();
+        synchronized (stripe) {
+            var window = stripe.windows.get(key);
+            if (window == null || window.expiresAt <= now) {
+                window = new Window(now + windowMs);
+                stripe.windows.put(key, window);
+            }
+            if (window.count >= max) {
+                return secondsUntil(window.expiresAt, now);
+            }
+            window.count++;
+            return 0;
+        }
+    }
+
+    private Stripe stripe(String key) {
+        return stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private static String accountKey(String email) {
+        return "account:" + email.toLowerCase();
+    }
+
+    private static long secondsUntil(long time, long now) {
+        return Math.max(1, (time - now + 999) / 1000);
+    }
+}
@@ -21,6 +21,7 @@ public class UserPrincipal implements UserDetails {
     private String fullName;
     private Role role;
     private Boolean isActive;
+    private Integer tokenVersion;
 
     public static UserPrincipal create(User user) {
         return new UserPrincipal(
@@ -29,10 +30,19 @@ public class UserPrincipal implements UserDetails {
                 user.getPassword(),
                 user.getFullName(),
                 user.getRole(),
-                user.getIsActive()
+                user.getIsActive(),
+                user.getTokenVersion()
         );
     }
 
+    /**
+     * Principal of an authenticated request, built from verified access token claims;
+     * it carries no password.
+     */
+    public static UserPrincipal fromClaims(Long id, String email, String fullName, Role role, Integer tokenVersion) {
+        return new UserPrincipal(id, email, null, fullName, role, true, tokenVersion);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         var authority = "ROLE_" + role.name();
@@ -0,0 +1,86 @@
+package com.be.security;
+
+import com.be.config.AuthConfig;
+import com.be.event.UserChangedEvent;
+import com.be.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least-recently-used cache of the per-user state an access token is checked
+ * against: whether the account is active and its current token version. Entries are
+ * dropped after the change that affects them commits and expire after a short TTL.
+ * <p>
+ * A load that overlaps such a change is not cached: every change bumps a generation
+ * for the user (striped, so the counters stay bounded) and the load only stores its
+ * result if the generation it started under is unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final AuthConfig.UserStatusCacheProperties properties;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    // guarded by entries
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > properties.getMaxSize();
+        }
+    };
+
+    public record UserStatus(boolean active, int tokenVersion) {
+    }
+
+    private record Entry(UserStatus status, long loadedAt) {
+    }
+
+    /**
+     * The status of {@code userId}, or {@code null} if the user does not exist.
+     */
+    public UserStatus get(Long userId) {
+        var now = System.currentTimeMillis();
+        long generation;
+        synchronized (entries) {
+            var entry = entries.get(userId);
+            if (entry != null && now - entry.loadedAt() < properties.getTtlMs()) {
+                return entry.status();
+            }
+            generation = generations[stripe(userId)];
+        }
+
+        var status = userRepository.findStatusById(userId).stream()
+                .findFirst()
+                .map(row -> new UserStatus(Boolean.TRUE.equals(row[0]), (Integer) row[1]))
+                .orElse(null);
+        if (status != null) {
+            synchronized (entries) {
+                if (generations[stripe(userId)] == generation) {
+                    entries.put(userId, new Entry(status, now));
+                }
+            }
+        }
+        return status;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (entries) {
+            generations[stripe(event.userId())]++;
+            entries.remove(event.userId());
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) GENERATION_STRIPES);
+    }
+}
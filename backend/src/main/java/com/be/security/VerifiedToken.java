@@ -0,0 +1,29 @@
+package com.be.security;
+
+import com.be.entity.Role;
+
+import java.time.Instant;
+
+/**
+ * The claims of a JWT whose signature and expiry have been checked, read once.
+ * {@code role}, {@code fullName} and {@code tokenVersion} are only set on access tokens,
+ * {@code tokenId} and {@code familyId} only on refresh tokens.
+ */
+public record VerifiedToken(String subject, Long userId, Role role, String fullName, Integer tokenVersion,
+                            boolean refresh, String tokenId, String familyId, Instant issuedAt, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * The principal of an access token, or {@code null} for refresh tokens and tokens
+     * issued without the user claims.
+     */
+    public UserPrincipal toPrincipal() {
+        if (refresh || userId == null || role == null || tokenVersion == null) {
+            return null;
+        }
+        return UserPrincipal.fromClaims(userId, subject, fullName, role, tokenVersion);
+    }
+}
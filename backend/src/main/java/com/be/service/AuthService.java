@@ -5,13 +5,18 @@ import com.be.dto.auth.LoginRequest;
 import com.be.dto.auth.RegisterRequest;
 import com.be.entity.Role;
 import com.be.entity.User;
+import com.be.event.UserChangedEvent;
 import com.be.exception.UnauthorizedException;
 import com.be.exception.ValidationException;
 import com.be.repository.UserRepository;
 import com.be.security.JwtUtil;
+import com.be.security.LoginThrottle;
 import com.be.security.UserPrincipal;
+import com.be.security.VerifiedToken;
+import com.be.service.impl.DashboardRollups;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,10 +34,15 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final DashboardRollups dashboardRollups;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
 
 
     @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    public AuthResponse register(RegisterRequest request, String clientAddress) {
+        loginThrottle.checkAddress(clientAddress);
         if (userRepository.existsByEmailIgnoreCase(request.getEmail())) {
             throw new ValidationException("Email is already registered");
         }
@@ -49,10 +59,12 @@ public class AuthService {
                 .build();
 
         var savedUser = userRepository.save(user);
+        dashboardRollups.customerRegistered();
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
 
         var userDetails = UserPrincipal.create(savedUser);
         var token = jwtUtil.generateToken(userDetails);
-        var refreshToken = jwtUtil.generateRefreshToken(userDetails);
+        var refreshToken = refreshTokenService.issue(userDetails);
 
         return AuthResponse.builder()
                 .token(token)
@@ -65,14 +77,18 @@ public class AuthService {
                 .build();
     }
 
-    public AuthResponse login(LoginRequest request, Boolean loginAdmin) {
+    public AuthResponse login(LoginRequest request, Boolean loginAdmin, String clientAddress) {
+        var email = request.getEmail().toLowerCase();
+        loginThrottle.checkAddress(clientAddress);
+        loginThrottle.checkAccount(email);
         try {
             var authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
-                            request.getEmail().toLowerCase(),
+                            email,
                             request.getPassword()
                     )
             );
+            loginThrottle.recordSuccess(email);
 
             var userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
@@ -85,7 +101,7 @@ public class AuthService {
             }
 
             var token = jwtUtil.generateToken(userPrincipal);
-            var refreshToken = jwtUtil.generateRefreshToken(userPrincipal);
+            var refreshToken = refreshTokenService.issue(userPrincipal);
 
             return AuthResponse.builder()
                     .token(token)
@@ -98,40 +114,54 @@ public class AuthService {
                     .build();
 
         } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(email);
             throw new UnauthorizedException("Invalid email or password");
         }
     }
 
+    @Transactional(noRollbackFor = UnauthorizedException.class)
     public AuthResponse refreshToken(String refreshToken) {
-        try {
-            if (!jwtUtil.isTokenValid(refreshToken)) {
-                throw new RuntimeException("Invalid refresh token");
-            }
+        var verified = verifyRefreshToken(refreshToken);
+        var user = userRepository.findById(verified.userId())
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
 
-            var email = jwtUtil.getUsernameFromToken(refreshToken);
-            var user = userRepository.findByEmailIgnoreCase(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!user.getIsActive()) {
+            throw new UnauthorizedException("Account is deactivated");
+        }
 
-            if (!user.getIsActive()) {
-                throw new RuntimeException("Account is deactivated");
-            }
+        var userDetails = UserPrincipal.create(user);
+        var newRefreshToken = refreshTokenService.rotate(verified, userDetails);
+        var newToken = jwtUtil.generateToken(userDetails);
+        return AuthResponse.builder()
+                .token(newToken)
+                .refreshToken(newRefreshToken)
+                .type("Bearer")
+                .id(user.getId())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .role(user.getRole().name())
+                .build();
+    }
 
-            var userDetails = UserPrincipal.create(user);
-            var newToken = jwtUtil.generateToken(userDetails);
-            var newRefreshToken = jwtUtil.generateRefreshToken(userDetails);
-            return AuthResponse.builder()
-                    .token(newToken)
-                    .refreshToken(newRefreshToken)
-                    .type("Bearer")
-                    .id(user.getId())
-                    .email(user.getEmail())
-                    .fullName(user.getFullName())
-                    .role(user.getRole().name())
-                    .build();
+    /**
+     * Signs out the session the refresh token belongs to. Its current access token is
+     * not revoked and lapses within {@code jwt.expiration} (minutes).
+     */
+    public void logout(String refreshToken) {
+        refreshTokenService.revokeFamily(verifyRefreshToken(refreshToken));
+    }
 
+    private VerifiedToken verifyRefreshToken(String refreshToken) {
+        VerifiedToken verified;
+        try {
+            verified = jwtUtil.verify(refreshToken);
         } catch (Exception e) {
-            log.error("Token refresh failed: {}", e.getMessage());
-            throw new RuntimeException("Token refresh failed");
+            throw new UnauthorizedException("Invalid refresh token", e);
+        }
+        // tokens issued before rotation carry no id and can no longer be used
+        if (!verified.refresh() || verified.userId() == null || verified.tokenId() == null) {
+            throw new UnauthorizedException("Invalid refresh token");
         }
+        return verified;
     }
-}
\ No newline at end of file
+}
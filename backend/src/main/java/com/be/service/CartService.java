@@ -0,0 +1,24 @@
+package com.be.service;
+
+import com.be.dto.cart.CartResponse;
+import com.be.dto.cart.UpdateCartItemRequest;
+
+public interface CartService {
+    CartResponse getCart(String userEmail);
+
+    CartResponse updateItem(String userEmail, UpdateCartItemRequest request);
+
+    CartResponse removeItem(String userEmail, Long productId);
+
+    void clearCart(String userEmail);
+
+    /**
+     * Returns the summary of the given cart for checkout, always priced from current
+     * product data (changes made on other instances do not reach this instance's cache
+     * in time); the fresh summary replaces the cached one.
+     */
+    CartResponse getCheckoutSummary(Long cartId, Long userId);
+
+    /** Empties the cart after a successful checkout; runs in the caller's transaction. */
+    void clearAfterCheckout(Long cartId);
+}
@@ -0,0 +1,11 @@
+package com.be.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamService {
+    /**
+     * Opens a stream that starts with the current dashboard snapshot and then carries
+     * deltas and heartbeats.
+     */
+    SseEmitter subscribe();
+}
@@ -0,0 +1,15 @@
+package com.be.service;
+
+import com.be.dto.product.InventorySummaryResponse;
+import com.be.dto.product.LowStockResponse;
+
+import java.util.List;
+
+public interface InventoryService {
+    /**
+     * Active products at or below their low stock threshold, lowest stock first.
+     */
+    List<LowStockResponse> getLowStock(boolean includeOutOfStock);
+
+    InventorySummaryResponse getSummary();
+}
@@ -0,0 +1,15 @@
+package com.be.service;
+
+import com.be.dto.admin.DashboardResponse;
+import com.be.dto.admin.TimeGranularity;
+import com.be.dto.admin.TimeSeriesResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MetricsService {
+    TimeSeriesResponse getTimeSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                     Long productId, Long categoryId);
+
+    List<DashboardResponse.TopProductResponse> getTopProducts(int limit);
+}
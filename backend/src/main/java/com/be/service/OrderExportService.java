@@ -0,0 +1,14 @@
+package com.be.service;
+
+import com.be.dto.order.OrderExportFormat;
+import com.be.entity.OrderStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+public interface OrderExportService {
+    StreamingResponseBody exportUserOrders(String userEmail, OrderExportFormat format);
+
+    StreamingResponseBody exportAllOrders(OrderExportFormat format, OrderStatus status,
+                                          LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -2,8 +2,12 @@ package com.be.service;
 
 import com.be.dto.admin.DashboardResponse;
 import com.be.dto.common.PagedResponse;
+import com.be.dto.order.BulkUpdateOrderStatusRequest;
+import com.be.dto.order.BulkUpdateOrderStatusResponse;
 import com.be.dto.order.CreateOrderRequest;
 import com.be.dto.order.OrderDetailResponse;
+import com.be.dto.order.OrderQuoteRequest;
+import com.be.dto.order.OrderQuoteResponse;
 import com.be.dto.order.OrderResponse;
 import com.be.dto.order.UpdateOrderStatusRequest;
 import com.be.entity.OrderStatus;
@@ -14,10 +18,14 @@ import java.time.LocalDateTime;
 public interface OrderService {
     OrderResponse createOrder(CreateOrderRequest request, String userEmail);
 
+    OrderQuoteResponse quoteOrder(OrderQuoteRequest request, String userEmail);
+
     PagedResponse<OrderResponse> getUserOrders(String userEmail, int page, int size);
 
     OrderDetailResponse getOrderById(Long orderId, String userEmail);
 
+    OrderDetailResponse getOrderDetail(Long orderId);
+
     void cancelOrder(Long orderId, String userEmail);
 
     PagedResponse<OrderResponse> getAllOrders(int page, int size, OrderStatus status,
@@ -25,5 +33,9 @@ public interface OrderService {
 
     OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request);
 
+    BulkUpdateOrderStatusResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request);
+
     DashboardResponse getDashboardMetrics();
+
+    void rebuildDashboardRollups();
 }
\ No newline at end of file
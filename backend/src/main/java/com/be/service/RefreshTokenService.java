@@ -0,0 +1,29 @@
+package com.be.service;
+
+import com.be.security.UserPrincipal;
+import com.be.security.VerifiedToken;
+
+public interface RefreshTokenService {
+
+    /**
+     * Issues the first refresh token of a new family (a new login).
+     */
+    String issue(UserPrincipal principal);
+
+    /**
+     * Revokes {@code token} and issues its successor in the same family. Presenting a
+     * token that was already rotated or revoked is treated as theft: the whole family is
+     * revoked and an {@link com.be.exception.UnauthorizedException} is thrown.
+     */
+    String rotate(VerifiedToken token, UserPrincipal principal);
+
+    /**
+     * Revokes every token descending from the same login as {@code token}.
+     */
+    void revokeFamily(VerifiedToken token);
+
+    /**
+     * Revokes every refresh token of the user, signing out all their sessions.
+     */
+    void revokeAll(Long userId);
+}
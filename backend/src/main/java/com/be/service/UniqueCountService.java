@@ -0,0 +1,13 @@
+package com.be.service;
+
+import com.be.dto.admin.UniqueCountResponse;
+
+import java.time.LocalDate;
+
+public interface UniqueCountService {
+    void recordProductVisit(Long productId, String visitor);
+
+    UniqueCountResponse getUniqueProductVisitors(Long productId, LocalDate from, LocalDate to);
+
+    UniqueCountResponse getUniqueCategoryBuyers(Long categoryId, LocalDate from, LocalDate to);
+}
@@ -21,4 +21,8 @@ public interface UserService {
     UserProfileResponse updateUserProfile(String userEmail, UpdateUserProfileRequest request);
 
     MessageResponse changePassword(String userEmail, ChangePasswordRequest request);
+
+    MessageResponse logoutAllSessions(String userEmail);
+
+    void rebuildCustomerStats();
 }
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.be.service.impl;
+
+import com.be.dto.cart.CartLineResponse;
+import com.be.dto.cart.CartResponse;
+import com.be.dto.cart.UpdateCartItemRequest;
+import com.be.entity.Cart;
+import com.be.entity.CartItem;
+import com.be.entity.Product;
+import com.be.event.CartChangedEvent;
+import com.be.exception.ResourceNotFoundException;
+import com.be.exception.ValidationException;
+import com.be.repository.CartItemRepository;
+import com.be.repository.CartRepository;
+import com.be.repository.ProductRepository;
+import com.be.repository.UserRepository;
+import com.be.service.CartService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class CartServiceImpl implements CartService {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final CartSummaryCache cartSummaryCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public CartResponse getCart(String userEmail) {
+        var cartId = cartRepository.findIdByUserEmail(userEmail).orElse(null);
+        if (cartId == null) {
+            return emptyCart(null);
+        }
+        return cachedSummary(cartId);
+    }
+
+    @Override
+    @Transactional
+    public CartResponse updateItem(String userEmail, UpdateCartItemRequest request) {
+        var cart = cartRepository.findWithItemsByUserEmail(userEmail)
+                .orElseGet(() -> createCart(userEmail));
+
+        var existing = cart.getItems().stream()
+                .filter(item -> item.getProduct().getId().equals(request.getProductId()))
+                .findFirst();
+
+        if (request.getQuantity() == 0) {
+            existing.ifPresent(cart.getItems()::remove);
+        } else if (existing.isPresent()) {
+            existing.get().setQuantity(request.getQuantity());
+        } else {
+            var product = productRepository.findById(request.getProductId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + request.getProductId()));
+            if (!product.getIsActive()) {
+                throw new ValidationException("Medicine is not available: " + product.getName());
+            }
+            cart.getItems().add(CartItem.builder()
+                    .cart(cart)
+                    .product(product)
+                    .quantity(request.getQuantity())
+                    .build());
+        }
+
+        var saved = cartRepository.save(cart);
+        eventPublisher.publishEvent(new CartChangedEvent(saved.getId()));
+        return price(saved);
+    }
+
+    @Override
+    @Transactional
+    public CartResponse removeItem(String userEmail, Long productId) {
+        var cart = cartRepository.findWithItemsByUserEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+
+        if (!cart.getItems().removeIf(item -> item.getProduct().getId().equals(productId))) {
+            throw new ResourceNotFoundException("Product not in cart: " + productId);
+        }
+
+        eventPublisher.publishEvent(new CartChangedEvent(cart.getId()));
+        return price(cart);
+    }
+
+    @Override
+    @Transactional
+    public void clearCart(String userEmail) {
+        cartRepository.findIdByUserEmail(userEmail).ifPresent(this::clearAfterCheckout);
+    }
+
+    @Override
+    public CartResponse getCheckoutSummary(Long cartId, Long userId) {
+        var ownerId = cartRepository.findUserIdById(cartId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+        if (!ownerId.equals(userId)) {
+            throw new ResourceNotFoundException("Cart not found");
+        }
+        var generation = cartSummaryCache.generation();
+        var summary = loadSummary(cartId);
+        cartSummaryCache.put(cartId, summary, generation);
+        return summary;
+    }
+
+    @Override
+    @Transactional
+    public void clearAfterCheckout(Long cartId) {
+        cartItemRepository.deleteByCartId(cartId);
+        eventPublisher.publishEvent(new CartChangedEvent(cartId));
+    }
+
+    private CartResponse cachedSummary(Long cartId) {
+        var cached = cartSummaryCache.get(cartId);
+        if (cached != null) {
+            return cached;
+        }
+
+        var generation = cartSummaryCache.generation();
+        var summary = loadSummary(cartId);
+        cartSummaryCache.put(cartId, summary, generation);
+        return summary;
+    }
+
+    private CartResponse loadSummary(Long cartId) {
+        return cartRepository.findWithItemsById(cartId)
+                .map(this::price)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart not found"));
+    }
+
+    /**
+     * Prices every line of the cart against current product data fetched in a single
+     * query, flagging lines that are inactive, deleted or short on stock.
+     */
+    private CartResponse price(Cart cart) {
+        if (cart.getItems().isEmpty()) {
+            return emptyCart(cart.getId());
+        }
+
+        var productIds = cart.getItems().stream().map(item -> item.getProduct().getId()).toList();
+        var products = productRepository.findWithImagesByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        var lines = new ArrayList<CartLineResponse>(cart.getItems().size());
+        var subtotal = BigDecimal.ZERO;
+        var itemCount = 0;
+        for (var item : cart.getItems()) {
+            var productId = item.getProduct().getId();
+            var product = products.get(productId);
+            var line = CartLineResponse.builder()
+                    .productId(productId)
+                    .quantity(item.getQuantity());
+
+            if (product == null) {
+                lines.add(line.available(false).message("Product no longer exists").build());
+                continue;
+            }
+
+            var lineTotal = product.getUnitPrice().multiply(new BigDecimal(item.getQuantity()));
+            subtotal = subtotal.add(lineTotal);
+            itemCount += item.getQuantity();
+            line.name(product.getName())
+                    .image(product.getImages().stream().findFirst().orElse(null))
+                    .unitPrice(product.getUnitPrice())
+                    .stock(product.getQuantity())
+                    .lineTotal(lineTotal);
+
+            var reason = OrderWriter.unavailableReason(product, item.getQuantity());
+            lines.add(line.available(reason == null).message(reason).build());
+        }
+        lines.sort(Comparator.comparing(CartLineResponse::getProductId));
+
+        var tax = OrderWriter.taxOn(subtotal);
+        return CartResponse.builder()
+                .cartId(cart.getId())
+                .lines(List.copyOf(lines))
+                .itemCount(itemCount)
+                .subtotal(subtotal)
+                .tax(tax)
+                .shipping(OrderWriter.SHIPPING_COST)
+                .total(subtotal.add(tax).add(OrderWriter.SHIPPING_COST))
+                .valid(lines.stream().allMatch(CartLineResponse::isAvailable))
+                .pricedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private Cart createCart(String userEmail) {
+        var user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return Cart.builder().user(user).build();
+    }
+
+    private static CartResponse emptyCart(Long cartId) {
+        return CartResponse.builder()
+                .cartId(cartId)
+                .lines(List.of())
+                .itemCount(0)
+                .subtotal(BigDecimal.ZERO)
+                .tax(BigDecimal.ZERO)
+                .shipping(BigDecimal.ZERO)
+                .total(BigDecimal.ZERO)
+                .valid(false)
+                .pricedAt(LocalDateTime.now())
+                .build();
+    }
+}
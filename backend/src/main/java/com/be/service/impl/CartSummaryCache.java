@@ -0,0 +1,118 @@
+package com.be.service.impl;
+
+import com.be.dto.cart.CartLineResponse;
+import com.be.dto.cart.CartResponse;
+import com.be.event.CartChangedEvent;
+import com.be.event.ProductsChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Priced cart summaries keyed by cart id, least recently used first out, with a reverse
+ * index from product id to the carts containing it. Entries are dropped after commit
+ * when the cart or any of its products change on this instance, and expire after
+ * {@link #TTL_MS} so changes made on other instances show up too; the reverse index is
+ * pruned whenever a summary leaves the cache. Checkout never trusts a cached price.
+ * <p>
+ * A summary computed from reads that overlap an invalidation must not be kept, so
+ * readers take {@link #generation()} before reading and pass it to {@link #put}; any
+ * invalidation in between bumps the generation and the entry is discarded.
+ */
+@Component
+public class CartSummaryCache {
+
+    private static final int MAX_ENTRIES = 50_000;
+    static final long TTL_MS = 30_000;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    // guarded by summaries, like cartsByProduct
+    private final Map<Long, CartResponse> summaries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CartResponse> eldest) {
+            if (size() <= MAX_ENTRIES) {
+                return false;
+            }
+            unindex(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    };
+    private final Map<Long, Set<Long>> cartsByProduct = new HashMap<>();
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public CartResponse get(Long cartId) {
+        synchronized (summaries) {
+            var summary = summaries.get(cartId);
+            if (summary != null && summary.getPricedAt().isBefore(LocalDateTime.now().minus(TTL_MS, ChronoUnit.MILLIS))) {
+                remove(cartId);
+                return null;
+            }
+            return summary;
+        }
+    }
+
+    public void put(Long cartId, CartResponse summary, long readGeneration) {
+        synchronized (summaries) {
+            if (generation.get() != readGeneration) {
+                return;
+            }
+            var previous = summaries.put(cartId, summary);
+            if (previous != null) {
+                unindex(cartId, previous);
+            }
+            for (CartLineResponse line : summary.getLines()) {
+                cartsByProduct.computeIfAbsent(line.getProductId(), id -> new HashSet<>()).add(cartId);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        synchronized (summaries) {
+            generation.incrementAndGet();
+            for (var productId : event.productIds()) {
+                var cartIds = cartsByProduct.get(productId);
+                if (cartIds != null) {
+                    List.copyOf(cartIds).forEach(this::remove);
+                }
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        synchronized (summaries) {
+            generation.incrementAndGet();
+            remove(event.cartId());
+        }
+    }
+
+    private void remove(Long cartId) {
+        var summary = summaries.remove(cartId);
+        if (summary != null) {
+            unindex(cartId, summary);
+        }
+    }
+
+    private void unindex(Long cartId, CartResponse summary) {
+        for (CartLineResponse line : summary.getLines()) {
+            var cartIds = cartsByProduct.get(line.getProductId());
+            if (cartIds != null && cartIds.remove(cartId) && cartIds.isEmpty()) {
+                cartsByProduct.remove(line.getProductId());
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.be.service.impl;
+
+import com.be.entity.OrderEvent;
+import com.be.entity.OrderStatus;
+import com.be.event.OrderEventDispatcher;
+import com.be.event.OrderEventListener;
+import com.be.repository.CustomerStatsRepository;
+import com.be.repository.EventCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Maintains {@code customer_stats} from the order outbox: every created order counts
+ * towards the customer's order count and first/last order dates, and delivered
+ * orders towards delivered count and spend.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsListener implements OrderEventListener {
+
+    static final String CONSUMER = "customer-stats";
+
+    private static final long REBUILD_USER_RANGE = 10_000;
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final EventCheckpointRepository checkpointRepository;
+    private final OrderEventDispatcher orderEventDispatcher;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfMissing() {
+        if (!checkpointRepository.existsById(CONSUMER)) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return CONSUMER;
+    }
+
+    @Override
+    public void onEvent(OrderEvent event) {
+        var total = event.getTotal() != null ? event.getTotal() : BigDecimal.ZERO;
+        switch (event.getType()) {
+            case ORDER_CREATED -> customerStatsRepository.recordOrder(event.getUserId(),
+                    event.getOrderCreatedAt() != null ? event.getOrderCreatedAt() : event.getOccurredAt());
+            case ORDER_STATUS_CHANGED, ORDER_CANCELLED -> {
+                if (OrderStatus.DELIVERED.equals(event.getToStatus())) {
+                    customerStatsRepository.addDelivered(event.getUserId(), 1, total);
+                }
+                if (OrderStatus.DELIVERED.equals(event.getFromStatus())) {
+                    customerStatsRepository.addDelivered(event.getUserId(), -1, total.negate());
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes every row from hot and archived orders, one user id range at a time
+     * so memory stays bounded.
+     */
+    public void rebuild() {
+        var startedAt = System.currentTimeMillis();
+        var customers = new long[1];
+        orderEventDispatcher.rebuild(CONSUMER, () -> {
+            customerStatsRepository.deleteAllStats();
+            var maxUserId = customerStatsRepository.findMaxUserId();
+            for (var from = 0L; from <= maxUserId; from += REBUILD_USER_RANGE) {
+                var rows = customerStatsRepository.aggregateByUserRange(from, from + REBUILD_USER_RANGE);
+                if (rows.isEmpty()) {
+                    continue;
+                }
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO customer_stats (user_id, order_count, delivered_order_count, delivered_spend,
+                                                    first_order_at, last_order_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?, NOW(6))
+                        """, rows);
+                customers[0] += rows.size();
+            }
+        });
+        log.info("Rebuilt customer stats for {} customers in {} ms", customers[0], System.currentTimeMillis() - startedAt);
+    }
+}
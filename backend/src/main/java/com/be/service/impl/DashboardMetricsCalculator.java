@@ -0,0 +1,177 @@
+package com.be.service.impl;
+
+import com.be.config.DashboardConfig;
+import com.be.dto.admin.DashboardResponse;
+import com.be.repository.DashboardRepository;
+import com.be.repository.DashboardRollupRepository;
+import com.be.service.InventoryService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Computes the admin dashboard from the rollups and the catalog tables. Callers go
+ * through {@link DashboardSnapshotCache} rather than invoking this per request.
+ * <p>
+ * The sections are independent, so each runs on its own virtual thread. Sections that
+ * query the database run in their own read-only transaction with a timeout, at most
+ * {@code maxConcurrentQueries} at a time so a refresh never holds more than that many
+ * pooled connections; in-memory sections run without one. A failing or slow section
+ * (including one still waiting for its turn) is reported in
+ * {@link DashboardResponse#getSectionErrors()} and leaves its fields empty instead of
+ * failing the whole dashboard.
+ */
+@Component
+@Slf4j
+public class DashboardMetricsCalculator {
+
+    private final DashboardRepository dashboardRepository;
+    private final DashboardRollupRepository dashboardRollupRepository;
+    private final TopProductsTracker topProductsTracker;
+    private final InventoryService inventoryService;
+    private final DashboardConfig.SnapshotProperties properties;
+    private final TransactionTemplate sectionTransaction;
+    private final Semaphore queryPermits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private record Section<T>(String name, Future<T> result, Consumer<T> apply) {
+    }
+
+    public DashboardMetricsCalculator(DashboardRepository dashboardRepository,
+                                      DashboardRollupRepository dashboardRollupRepository,
+                                      TopProductsTracker topProductsTracker,
+                                      InventoryService inventoryService,
+                                      DashboardConfig.SnapshotProperties properties,
+                                      PlatformTransactionManager transactionManager) {
+        this.dashboardRepository = dashboardRepository;
+        this.dashboardRollupRepository = dashboardRollupRepository;
+        this.topProductsTracker = topProductsTracker;
+        this.inventoryService = inventoryService;
+        this.properties = properties;
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        this.sectionTransaction.setReadOnly(true);
+        this.sectionTransaction.setTimeout(properties.getSectionTimeoutSeconds());
+        this.queryPermits = new Semaphore(properties.getMaxConcurrentQueries());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public DashboardResponse compute() {
+        var now = LocalDateTime.now();
+        var last30Days = now.minusDays(30);
+        var last12Months = now.minusMonths(12);
+        var builder = DashboardResponse.builder().generatedAt(now);
+
+        var sections = List.of(
+                section("catalog", dashboardRepository::getCatalogOverview, catalog -> builder
+                        .totalCustomers(((Number) catalog[0]).longValue())
+                        .totalProducts(((Number) catalog[1]).longValue())
+                        .totalCategories(((Number) catalog[2]).longValue())),
+
+                section("orders", dashboardRollupRepository::getOrderTotals, orderTotals -> {
+                    var completedOrders = ((Number) orderTotals[1]).longValue();
+                    var totalRevenue = ((Number) orderTotals[2]).doubleValue();
+                    builder.totalOrders(((Number) orderTotals[0]).longValue())
+                            .completedOrders(completedOrders)
+                            .totalRevenue(totalRevenue)
+                            .averageOrderValue(completedOrders == 0 ? 0 : totalRevenue / completedOrders)
+                            .pendingOrders(((Number) orderTotals[3]).longValue());
+                }),
+
+                section("recentActivity", () -> dashboardRollupRepository.getRecentActivity(last30Days.toLocalDate()),
+                        recentActivity -> builder
+                                .recentOrders(((Number) recentActivity[0]).longValue())
+                                .newCustomers(((Number) recentActivity[2]).longValue())
+                                .recentPendingOrders(((Number) recentActivity[1]).longValue())),
+
+                section("newProducts", () -> dashboardRepository.countProductsCreatedSince(last30Days),
+                        builder::newProducts),
+
+                inMemorySection("inventory", inventoryService::getSummary, inventory -> builder
+                        .productsInStock(inventory.getProductsInStock())
+                        .outOfStockProducts(inventory.getOutOfStockProducts())
+                        .lowStockProducts(inventory.getLowStockProducts())
+                        .totalInventoryUnits(inventory.getTotalInventoryUnits())),
+
+                section("customers", dashboardRepository::getCustomerAnalytics, customerAnalytics -> builder
+                        .customersWithOrders(((Number) customerAnalytics[1]).longValue())
+                        .averageOrdersPerCustomer(((Number) customerAnalytics[2]).doubleValue())
+                        .averageSpentPerCustomer(((Number) customerAnalytics[3]).doubleValue())),
+
+                // ranking is in memory; the product name lookup is a single short query
+                inMemorySection("topProducts", () -> topProductsTracker.top(5), builder::topProducts),
+
+                section("monthlyGrowth", () -> dashboardRollupRepository.getMonthlyGrowth(
+                        last12Months.toLocalDate(), now.toLocalDate()), rows -> builder
+                        .monthlyGrowth(rows.stream()
+                                .map(data -> DashboardResponse.MonthlyGrowthResponse.builder()
+                                        .month((String) data[0])
+                                        .orders(((Number) data[1]).longValue())
+                                        .revenue(((Number) data[2]).doubleValue())
+                                        .newCustomers(((Number) data[3]).longValue())
+                                        .build())
+                                .toList()))
+        );
+
+        var errors = new LinkedHashMap<String, String>();
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(properties.getSectionTimeoutSeconds() + 1L);
+        for (var section : sections) {
+            collect(section, deadline, errors);
+        }
+        if (!errors.isEmpty()) {
+            builder.sectionErrors(errors);
+        }
+        return builder.build();
+    }
+
+    private <T> Section<T> section(String name, Supplier<T> query, Consumer<T> apply) {
+        return new Section<>(name, executor.submit(() -> {
+            queryPermits.acquire();
+            try {
+                return sectionTransaction.execute(status -> query.get());
+            } finally {
+                queryPermits.release();
+            }
+        }), apply);
+    }
+
+    private <T> Section<T> inMemorySection(String name, Supplier<T> compute, Consumer<T> apply) {
+        return new Section<>(name, executor.submit(compute::get), apply);
+    }
+
+    private <T> void collect(Section<T> section, long deadline, Map<String, String> errors) {
+        try {
+            section.apply().accept(section.result().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            section.result().cancel(true);
+            errors.put(section.name(), "Timed out");
+            log.warn("Dashboard section {} timed out", section.name());
+        } catch (ExecutionException e) {
+            errors.put(section.name(), e.getCause().getMessage());
+            log.warn("Dashboard section {} failed: {}", section.name(), e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            section.result().cancel(true);
+            errors.put(section.name(), "Interrupted");
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.be.service.impl;
+
+import com.be.dto.admin.TimeGranularity;
+import com.be.entity.OrderStatus;
+import com.be.repository.DashboardRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Rollup tables are keyed by the day (and, in the hourly tables, the hour) the order
+ * was created, so a status change moves the order between two rows of the same bucket
+ * and totals over any date range are a sum over at most one row per bucket and status.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardRollupRepositoryImpl implements DashboardRollupRepository {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String HOUR_OF_CREATED_AT = "TIMESTAMP(DATE(created_at), MAKETIME(HOUR(created_at), 0, 0))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void createRollupTables() {
+        for (var resolution : Resolution.values()) {
+            var key = keyColumn(resolution);
+            var keyType = resolution == Resolution.DAY ? "DATE" : "DATETIME";
+
+            entityManager.createNativeQuery("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        %s %s NOT NULL,
+                        status VARCHAR(32) NOT NULL,
+                        order_count BIGINT NOT NULL,
+                        revenue DECIMAL(15, 2) NOT NULL,
+                        units_sold BIGINT NOT NULL DEFAULT 0,
+                        PRIMARY KEY (%s, status)
+                    )
+                    """.formatted(table("order", resolution), key, keyType, key)).executeUpdate();
+
+            entityManager.createNativeQuery("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        %s %s NOT NULL,
+                        product_id BIGINT NOT NULL,
+                        units_sold BIGINT NOT NULL,
+                        revenue DECIMAL(15, 2) NOT NULL,
+                        order_count BIGINT NOT NULL,
+                        PRIMARY KEY (%s, product_id),
+                        KEY idx_%s_product (product_id, %s)
+                    )
+                    """.formatted(table("product", resolution), key, keyType, key, table("product", resolution), key))
+                    .executeUpdate();
+
+            entityManager.createNativeQuery("""
+                    CREATE TABLE IF NOT EXISTS %s (
+                        %s %s NOT NULL PRIMARY KEY,
+                        new_customers BIGINT NOT NULL
+                    )
+                    """.formatted(table("customer", resolution), key, keyType)).executeUpdate();
+
+            addUnitsColumnIfMissing(resolution);
+        }
+    }
+
+    /**
+     * Order rollups created before they tracked units get the column, filled from the
+     * product rollups of the same bucket.
+     */
+    private void addUnitsColumnIfMissing(Resolution resolution) {
+        var exists = ((Number) entityManager.createNativeQuery("""
+                        SELECT COUNT(*) FROM information_schema.COLUMNS
+                        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table AND COLUMN_NAME = 'units_sold'
+                        """)
+                .setParameter("table", table("order", resolution))
+                .getSingleResult()).longValue() > 0;
+        if (!exists) {
+            entityManager.createNativeQuery("ALTER TABLE %s ADD COLUMN units_sold BIGINT NOT NULL DEFAULT 0"
+                    .formatted(table("order", resolution))).executeUpdate();
+            fillDeliveredUnits(resolution);
+        }
+    }
+
+    @Override
+    public void addOrders(LocalDateTime orderCreatedAt, OrderStatus status, long orders, BigDecimal revenue) {
+        for (var resolution : Resolution.values()) {
+            entityManager.createNativeQuery("""
+                            INSERT INTO %s (%s, status, order_count, revenue)
+                            VALUES (:bucket, :status, :orders, :revenue)
+                            ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count),
+                                                    revenue = revenue + VALUES(revenue)
+                            """.formatted(table("order", resolution), keyColumn(resolution)))
+                    .setParameter("bucket", bucket(resolution, orderCreatedAt))
+                    .setParameter("status", status.name())
+                    .setParameter("orders", orders)
+                    .setParameter("revenue", revenue)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void addProductSales(LocalDateTime orderCreatedAt, Long orderId, int sign) {
+        for (var resolution : Resolution.values()) {
+            entityManager.createNativeQuery("""
+                            INSERT INTO %s (%s, product_id, units_sold, revenue, order_count)
+                            SELECT :bucket, medicine_id, :sign * SUM(quantity), :sign * SUM(sub_total), :sign
+                            FROM order_items WHERE order_id = :orderId
+                            GROUP BY medicine_id
+                            ON DUPLICATE KEY UPDATE units_sold = units_sold + VALUES(units_sold),
+                                                    revenue = revenue + VALUES(revenue),
+                                                    order_count = order_count + VALUES(order_count)
+                            """.formatted(table("product", resolution), keyColumn(resolution)))
+                    .setParameter("bucket", bucket(resolution, orderCreatedAt))
+                    .setParameter("sign", sign)
+                    .setParameter("orderId", orderId)
+                    .executeUpdate();
+
+            entityManager.createNativeQuery("""
+                            INSERT INTO %s (%s, status, order_count, revenue, units_sold)
+                            SELECT :bucket, 'DELIVERED', 0, 0, :sign * SUM(quantity)
+                            FROM order_items WHERE order_id = :orderId
+                            HAVING COUNT(*) > 0
+                            ON DUPLICATE KEY UPDATE units_sold = units_sold + VALUES(units_sold)
+                            """.formatted(table("order", resolution), keyColumn(resolution)))
+                    .setParameter("bucket", bucket(resolution, orderCreatedAt))
+                    .setParameter("sign", sign)
+                    .setParameter("orderId", orderId)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void addNewCustomers(LocalDateTime registeredAt, long customers) {
+        for (var resolution : Resolution.values()) {
+            entityManager.createNativeQuery("""
+                            INSERT INTO %s (%s, new_customers) VALUES (:bucket, :customers)
+                            ON DUPLICATE KEY UPDATE new_customers = new_customers + VALUES(new_customers)
+                            """.formatted(table("customer", resolution), keyColumn(resolution)))
+                    .setParameter("bucket", bucket(resolution, registeredAt))
+                    .setParameter("customers", customers)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void clearRollups() {
+        for (var resolution : Resolution.values()) {
+            for (var kind : List.of("order", "product", "customer")) {
+                entityManager.createNativeQuery("DELETE FROM " + table(kind, resolution)).executeUpdate();
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> aggregateOrders(Resolution resolution) {
+        var bucket = sourceBucket(resolution, "created_at");
+        return entityManager.createNativeQuery("""
+                SELECT %s, status, COUNT(*), COALESCE(SUM(total), 0)
+                FROM (
+                    SELECT created_at, status, total FROM orders
+                    UNION ALL
+                    SELECT created_at, status, total FROM orders_archive
+                ) o
+                GROUP BY %s, status
+                """.formatted(bucket, bucket)).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> aggregateProductSales(Resolution resolution) {
+        var bucket = sourceBucket(resolution, "o.created_at");
+        return entityManager.createNativeQuery("""
+                SELECT bucket, product_id, SUM(units), SUM(revenue), SUM(orders)
+                FROM (
+                    SELECT %s AS bucket, oi.medicine_id AS product_id, SUM(oi.quantity) AS units,
+                           SUM(oi.sub_total) AS revenue, COUNT(DISTINCT o.id) AS orders
+                    FROM orders o JOIN order_items oi ON oi.order_id = o.id
+                    WHERE o.status = 'DELIVERED'
+                    GROUP BY %s, oi.medicine_id
+                    UNION ALL
+                    SELECT %s, oi.medicine_id, SUM(oi.quantity), SUM(oi.sub_total), COUNT(DISTINCT o.id)
+                    FROM orders_archive o
+                    JOIN order_items_archive oi ON oi.order_id = o.id AND oi.archive_month = o.archive_month
+                    WHERE o.status = 'DELIVERED'
+                    GROUP BY %s, oi.medicine_id
+                ) sales
+                GROUP BY bucket, product_id
+                """.formatted(bucket, bucket, bucket, bucket)).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> aggregateNewCustomers(Resolution resolution) {
+        var bucket = sourceBucket(resolution, "created_at");
+        return entityManager.createNativeQuery("""
+                SELECT %s, COUNT(*) FROM users WHERE role = 'USER' GROUP BY %s
+                """.formatted(bucket, bucket)).getResultList();
+    }
+
+    @Override
+    public void insertOrderRollups(Resolution resolution, List<Object[]> rows) {
+        batchInsert("INSERT INTO %s (%s, status, order_count, revenue) VALUES (?, ?, ?, ?)"
+                .formatted(table("order", resolution), keyColumn(resolution)), rows);
+    }
+
+    @Override
+    public void insertProductRollups(Resolution resolution, List<Object[]> rows) {
+        batchInsert("INSERT INTO %s (%s, product_id, units_sold, revenue, order_count) VALUES (?, ?, ?, ?, ?)"
+                .formatted(table("product", resolution), keyColumn(resolution)), rows);
+    }
+
+    @Override
+    public void fillDeliveredUnits(Resolution resolution) {
+        var key = keyColumn(resolution);
+        entityManager.createNativeQuery("""
+                UPDATE %s r
+                JOIN (SELECT %s AS bucket, SUM(units_sold) AS units FROM %s GROUP BY %s) p ON p.bucket = r.%s
+                SET r.units_sold = p.units
+                WHERE r.status = 'DELIVERED'
+                """.formatted(table("order", resolution), key, table("product", resolution), key, key))
+                .executeUpdate();
+    }
+
+    @Override
+    public void insertCustomerRollups(Resolution resolution, List<Object[]> rows) {
+        batchInsert("INSERT INTO %s (%s, new_customers) VALUES (?, ?)"
+                .formatted(table("customer", resolution), keyColumn(resolution)), rows);
+    }
+
+    @Override
+    public Object[] getOrderTotals() {
+        return (Object[]) entityManager.createNativeQuery("""
+                SELECT COALESCE(SUM(order_count), 0),
+                       COALESCE(SUM(CASE WHEN status = 'DELIVERED' THEN order_count END), 0),
+                       COALESCE(SUM(CASE WHEN status = 'DELIVERED' THEN revenue END), 0),
+                       COALESCE(SUM(CASE WHEN status = 'PENDING' THEN order_count END), 0)
+                FROM daily_order_rollups
+                """).getSingleResult();
+    }
+
+    @Override
+    public Object[] getRecentActivity(LocalDate since) {
+        return (Object[]) entityManager.createNativeQuery("""
+                        SELECT
+                            (SELECT COALESCE(SUM(order_count), 0) FROM daily_order_rollups WHERE day >= :since),
+                            (SELECT COALESCE(SUM(order_count), 0) FROM daily_order_rollups
+                             WHERE day >= :since AND status = 'PENDING'),
+                            (SELECT COALESCE(SUM(new_customers), 0) FROM daily_customer_rollups WHERE day >= :since)
+                        """)
+                .setParameter("since", since)
+                .getSingleResult();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getMonthlyGrowth(LocalDate from, LocalDate to) {
+        return entityManager.createNativeQuery("""
+                        SELECT month, SUM(orders), SUM(revenue), SUM(new_customers)
+                        FROM (
+                            SELECT DATE_FORMAT(day, '%Y-%m') AS month,
+                                   CASE WHEN status = 'DELIVERED' THEN order_count ELSE 0 END AS orders,
+                                   CASE WHEN status = 'DELIVERED' THEN revenue ELSE 0 END AS revenue,
+                                   0 AS new_customers
+                            FROM daily_order_rollups WHERE day BETWEEN :from AND :to
+                            UNION ALL
+                            SELECT DATE_FORMAT(day, '%Y-%m'), 0, 0, new_customers
+                            FROM daily_customer_rollups WHERE day BETWEEN :from AND :to
+                        ) months
+                        GROUP BY month
+                        ORDER BY month
+                        """)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getProductSalesTotals() {
+        return entityManager.createNativeQuery("""
+                SELECT product_id, SUM(revenue), SUM(units_sold), SUM(order_count)
+                FROM daily_product_rollups
+                GROUP BY product_id
+                HAVING SUM(order_count) > 0
+                """).getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getOrderProductSales(Long orderId) {
+        return entityManager.createNativeQuery("""
+                        SELECT medicine_id, SUM(quantity), SUM(sub_total)
+                        FROM order_items WHERE order_id = :orderId
+                        GROUP BY medicine_id
+                        """)
+                .setParameter("orderId", orderId)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getOrderSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        var resolution = resolution(granularity);
+        var key = keyColumn(resolution);
+        var bucket = seriesBucket(granularity, key);
+        return entityManager.createNativeQuery("""
+                        SELECT %s AS bucket, SUM(order_count), SUM(revenue), SUM(units_sold)
+                        FROM %s
+                        WHERE status = 'DELIVERED' AND %s BETWEEN :from AND :to
+                        GROUP BY bucket
+                        ORDER BY bucket
+                        """.formatted(bucket, table("order", resolution), key))
+                .setParameter("from", bucket(resolution, from))
+                .setParameter("to", bucket(resolution, to))
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getProductSalesSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                                Long productId, Long categoryId) {
+        var resolution = resolution(granularity);
+        var key = keyColumn(resolution);
+        var bucket = seriesBucket(granularity, "r." + key);
+        var filter = new StringBuilder();
+        if (productId != null) {
+            filter.append(" AND r.product_id = :productId");
+        }
+        if (categoryId != null) {
+            filter.append(" AND r.product_id IN (SELECT id FROM medicines WHERE category_id = :categoryId)");
+        }
+        var query = entityManager.createNativeQuery("""
+                        SELECT %s AS bucket, SUM(r.order_count), SUM(r.revenue), SUM(r.units_sold)
+                        FROM %s r
+                        WHERE r.%s BETWEEN :from AND :to%s
+                        GROUP BY bucket
+                        ORDER BY bucket
+                        """.formatted(bucket, table("product", resolution), key, filter))
+                .setParameter("from", bucket(resolution, from))
+                .setParameter("to", bucket(resolution, to));
+        if (productId != null) {
+            query.setParameter("productId", productId);
+        }
+        if (categoryId != null) {
+            query.setParameter("categoryId", categoryId);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> getNewCustomerSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to) {
+        var resolution = resolution(granularity);
+        var key = keyColumn(resolution);
+        return entityManager.createNativeQuery("""
+                        SELECT %s AS bucket, SUM(new_customers)
+                        FROM %s
+                        WHERE %s BETWEEN :from AND :to
+                        GROUP BY bucket
+                        ORDER BY bucket
+                        """.formatted(seriesBucket(granularity, key), table("customer", resolution), key))
+                .setParameter("from", bucket(resolution, from))
+                .setParameter("to", bucket(resolution, to))
+                .getResultList();
+    }
+
+    private static Resolution resolution(TimeGranularity granularity) {
+        return granularity == TimeGranularity.HOUR ? Resolution.HOUR : Resolution.DAY;
+    }
+
+    private static String table(String kind, Resolution resolution) {
+        return (resolution == Resolution.DAY ? "daily_" : "hourly_") + kind + "_rollups";
+    }
+
+    private static String keyColumn(Resolution resolution) {
+        return resolution == Resolution.DAY ? "day" : "hour";
+    }
+
+    private static Object bucket(Resolution resolution, LocalDateTime time) {
+        return resolution == Resolution.DAY ? time.toLocalDate() : time.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private static String sourceBucket(Resolution resolution, String column) {
+        return resolution == Resolution.DAY
+                ? "DATE(%s)".formatted(column)
+                : HOUR_OF_CREATED_AT.replace("created_at", column);
+    }
+
+    /**
+     * Expression mapping a rollup key to the start of its chart bucket; weeks start on Monday.
+     */
+    private static String seriesBucket(TimeGranularity granularity, String key) {
+        return switch (granularity) {
+            case HOUR, DAY -> key;
+            case WEEK -> "DATE_SUB(%s, INTERVAL WEEKDAY(%s) DAY)".formatted(key, key);
+            case MONTH -> "DATE_SUB(%s, INTERVAL DAYOFMONTH(%s) - 1 DAY)".formatted(key, key);
+        };
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (var from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + INSERT_BATCH_SIZE)));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.be.service.impl;
+
+import com.be.entity.OrderEvent;
+import com.be.entity.OrderStatus;
+import com.be.event.OrderEventDispatcher;
+import com.be.event.OrderEventListener;
+import com.be.repository.DashboardRollupRepository;
+import com.be.repository.EventCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the daily dashboard rollups in step with the order outbox. Rollup writes
+ * commit together with this listener's checkpoint, so each event is applied once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardRollups implements OrderEventListener {
+
+    static final String CONSUMER = "dashboard-rollups";
+
+    private final DashboardRollupRepository rollupRepository;
+    private final EventCheckpointRepository checkpointRepository;
+    private final OrderEventDispatcher orderEventDispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.createRollupTables());
+    }
+
+    /**
+     * Builds the rollups on first start; afterwards they are maintained from events.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfMissing() {
+        if (!checkpointRepository.existsById(CONSUMER)) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return CONSUMER;
+    }
+
+    @Override
+    public void onEvent(OrderEvent event) {
+        var createdAt = event.getOrderCreatedAt() != null ? event.getOrderCreatedAt() : event.getOccurredAt();
+        var total = event.getTotal() != null ? event.getTotal() : BigDecimal.ZERO;
+        switch (event.getType()) {
+            case ORDER_CREATED -> rollupRepository.addOrders(createdAt, event.getToStatus(), 1, total);
+            case ORDER_STATUS_CHANGED, ORDER_CANCELLED -> {
+                rollupRepository.addOrders(createdAt, event.getFromStatus(), -1, total.negate());
+                rollupRepository.addOrders(createdAt, event.getToStatus(), 1, total);
+                if (OrderStatus.DELIVERED.equals(event.getToStatus())) {
+                    rollupRepository.addProductSales(createdAt, event.getOrderId(), 1);
+                }
+                if (OrderStatus.DELIVERED.equals(event.getFromStatus())) {
+                    rollupRepository.addProductSales(createdAt, event.getOrderId(), -1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a newly registered customer; runs in the registration transaction.
+     */
+    public void customerRegistered() {
+        rollupRepository.addNewCustomers(LocalDateTime.now(), 1);
+    }
+
+    /**
+     * Recomputes all rollups from orders, archived orders and users.
+     */
+    public void rebuild() {
+        var startedAt = System.currentTimeMillis();
+        orderEventDispatcher.rebuild(CONSUMER, () -> {
+            rollupRepository.clearRollups();
+            for (var resolution : DashboardRollupRepository.Resolution.values()) {
+                rollupRepository.insertOrderRollups(resolution, rollupRepository.aggregateOrders(resolution));
+                rollupRepository.insertProductRollups(resolution, rollupRepository.aggregateProductSales(resolution));
+                rollupRepository.fillDeliveredUnits(resolution);
+                rollupRepository.insertCustomerRollups(resolution, rollupRepository.aggregateNewCustomers(resolution));
+            }
+        });
+        log.info("Rebuilt dashboard rollups in {} ms", System.currentTimeMillis() - startedAt);
+    }
+}
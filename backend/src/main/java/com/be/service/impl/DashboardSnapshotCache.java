@@ -0,0 +1,141 @@
+package com.be.service.impl;
+
+import com.be.config.DashboardConfig;
+import com.be.dto.admin.DashboardResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shares one dashboard computation between all admins.
+ * <p>
+ * Fresh snapshots are returned directly. Stale ones are returned while a background
+ * refresh runs, and only when there is no snapshot or it is older than
+ * {@code maxStaleMs} do callers wait. At most one computation runs at a time;
+ * concurrent callers join it instead of starting their own.
+ */
+@Component
+@Slf4j
+public class DashboardSnapshotCache {
+
+    private record Snapshot(DashboardResponse dashboard, long computedAtNanos) {
+    }
+
+    private final DashboardMetricsCalculator calculator;
+    private final DashboardConfig.SnapshotProperties properties;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> refresh = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Timer computeTimer;
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter failures;
+
+    public DashboardSnapshotCache(DashboardMetricsCalculator calculator,
+                                  DashboardConfig.SnapshotProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.calculator = calculator;
+        this.properties = properties;
+        this.computeTimer = Timer.builder("dashboard.snapshot.compute")
+                .description("Time to compute the admin dashboard")
+                .register(meterRegistry);
+        this.freshHits = requests(meterRegistry, "fresh");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.failures = Counter.builder("dashboard.snapshot.refresh.failures").register(meterRegistry);
+        Gauge.builder("dashboard.snapshot.age", current, ref -> ageMs(ref.get()))
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public DashboardResponse get() {
+        var snapshot = current.get();
+        var age = ageMs(snapshot);
+
+        if (snapshot != null && age < properties.getFreshMs()) {
+            freshHits.increment();
+            return snapshot.dashboard();
+        }
+        if (snapshot != null && age < properties.getMaxStaleMs()) {
+            staleHits.increment();
+            startRefresh();
+            return snapshot.dashboard();
+        }
+
+        misses.increment();
+        try {
+            return startRefresh().join().dashboard();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Forces the next request to wait for a new computation.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        current.set(null);
+    }
+
+    private CompletableFuture<Snapshot> startRefresh() {
+        var pending = new CompletableFuture<Snapshot>();
+        if (!refresh.compareAndSet(null, pending)) {
+            var running = refresh.get();
+            if (running != null) {
+                return running;
+            }
+            return startRefresh();
+        }
+
+        var startedGeneration = generation.get();
+        Thread.ofVirtual().name("dashboard-refresh").start(() -> {
+            try {
+                var dashboard = computeTimer.record(calculator::compute);
+                var snapshot = new Snapshot(dashboard, System.nanoTime());
+                // partial results, or a computation that overlapped an invalidation, are handed
+                // to waiting callers but not kept
+                if (dashboard.getSectionErrors() == null && generation.get() == startedGeneration) {
+                    current.set(snapshot);
+                }
+                pending.complete(snapshot);
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Dashboard refresh failed: {}", e.getMessage(), e);
+                pending.completeExceptionally(e);
+            } finally {
+                refresh.set(null);
+            }
+        });
+        return pending;
+    }
+
+    private static double ageMs(Snapshot snapshot) {
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - snapshot.computedAtNanos());
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("dashboard.snapshot.requests")
+                .description("Dashboard requests by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,269 @@
+package com.be.service.impl;
+
+import com.be.config.DashboardConfig;
+import com.be.dto.admin.DashboardDelta;
+import com.be.dto.product.StockLevel;
+import com.be.entity.OrderEvent;
+import com.be.entity.OrderStatus;
+import com.be.event.OrderEventDispatcher;
+import com.be.event.OrderEventListener;
+import com.be.event.InventoryAlertEvent;
+import com.be.exception.ServiceUnavailableException;
+import com.be.service.DashboardStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes dashboard deltas to connected admins over Server-Sent Events.
+ * <p>
+ * Deltas are derived once from outbox events (after the dispatcher's transaction
+ * commits) and inventory alerts, rendered into a single SSE frame, and the same frame
+ * is queued for every client. Each client drains its bounded queue on its own virtual
+ * thread; a client whose queue fills up is disconnected rather than slowing the others,
+ * and reconnects to a fresh snapshot.
+ * <p>
+ * Admins may be connected to any instance, so every instance follows the outbox with
+ * its own checkpoint, starting from the newest event when it boots.
+ */
+@Service
+@Slf4j
+public class DashboardStreamServiceImpl implements DashboardStreamService, OrderEventListener {
+
+    static final String CONSUMER = "dashboard-stream";
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+    private static final Set<DataWithMediaType> CLOSE = Set.of();
+
+    private final DashboardSnapshotCache snapshotCache;
+    private final ObjectMapper objectMapper;
+    private final DashboardConfig.StreamProperties properties;
+    private final OrderEventDispatcher orderEventDispatcher;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore connections;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter dropped;
+
+    public DashboardStreamServiceImpl(DashboardSnapshotCache snapshotCache,
+                                      ObjectMapper objectMapper,
+                                      DashboardConfig.StreamProperties properties,
+                                      OrderEventDispatcher orderEventDispatcher,
+                                      MeterRegistry meterRegistry) {
+        this.snapshotCache = snapshotCache;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.orderEventDispatcher = orderEventDispatcher;
+        this.connections = new Semaphore(properties.getMaxConnections());
+        this.dropped = Counter.builder("dashboard.stream.dropped").register(meterRegistry);
+        Gauge.builder("dashboard.stream.connections", subscribers, Set::size).register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        if (!connections.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many dashboard stream connections");
+        }
+        var subscriber = new Subscriber(new SseEmitter(properties.getTimeoutMs()));
+        subscribers.add(subscriber);
+        executor.execute(subscriber::run);
+        return subscriber.emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // nothing to catch up on: clients get a snapshot when they connect
+        orderEventDispatcher.rebuild(getName(), () -> {
+        });
+    }
+
+    @Override
+    public String getName() {
+        return orderEventDispatcher.instanceConsumer(CONSUMER);
+    }
+
+    /**
+     * Turns an outbox event into deltas, published once the dispatcher's transaction
+     * commits. Events that are already old (catch-up after a restart) are not pushed.
+     */
+    @Override
+    public void onEvent(OrderEvent event) {
+        if (subscribers.isEmpty() || event.getOccurredAt() == null
+                || event.getOccurredAt().isBefore(LocalDateTime.now().minusNanos(properties.getMaxEventAgeMs() * 1_000_000))) {
+            return;
+        }
+
+        var deltas = toDeltas(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deltas.forEach(DashboardStreamServiceImpl.this::broadcast);
+                }
+            });
+        } else {
+            deltas.forEach(this::broadcast);
+        }
+    }
+
+    @EventListener
+    public void onInventoryAlert(InventoryAlertEvent alert) {
+        if (alert.level() == StockLevel.IN_STOCK) {
+            return;
+        }
+        broadcast(DashboardDelta.builder()
+                .type(DashboardDelta.Type.LOW_STOCK)
+                .productId(alert.productId())
+                .productName(alert.productName())
+                .stock(alert.quantity())
+                .stockLevel(alert.level())
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.close(true));
+        executor.shutdownNow();
+    }
+
+    private static List<DashboardDelta> toDeltas(OrderEvent event) {
+        var total = event.getTotal() != null ? event.getTotal() : BigDecimal.ZERO;
+        var deltas = new ArrayList<DashboardDelta>(2);
+        switch (event.getType()) {
+            case ORDER_CREATED -> deltas.add(orderDelta(DashboardDelta.Type.NEW_ORDER, event).build());
+            case ORDER_STATUS_CHANGED, ORDER_CANCELLED -> {
+                deltas.add(orderDelta(DashboardDelta.Type.STATUS_CHANGE, event).build());
+                if (OrderStatus.DELIVERED.equals(event.getToStatus())) {
+                    deltas.add(orderDelta(DashboardDelta.Type.REVENUE, event).revenueDelta(total).build());
+                }
+                if (OrderStatus.DELIVERED.equals(event.getFromStatus())) {
+                    deltas.add(orderDelta(DashboardDelta.Type.REVENUE, event).revenueDelta(total.negate()).build());
+                }
+            }
+        }
+        return deltas;
+    }
+
+    private static DashboardDelta.DashboardDeltaBuilder orderDelta(DashboardDelta.Type type, OrderEvent event) {
+        return DashboardDelta.builder()
+                .type(type)
+                .orderId(event.getOrderId())
+                .userId(event.getUserId())
+                .fromStatus(event.getFromStatus())
+                .toStatus(event.getToStatus())
+                .total(event.getTotal())
+                .occurredAt(event.getOccurredAt());
+    }
+
+    private void broadcast(DashboardDelta delta) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> frame;
+        try {
+            frame = SseEmitter.event()
+                    .id(Long.toString(sequence.incrementAndGet()))
+                    .name(delta.getType().name().toLowerCase())
+                    .data(objectMapper.writeValueAsString(delta))
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize dashboard delta {}: {}", delta.getType(), e.getMessage());
+            return;
+        }
+        subscribers.forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+            emitter.onCompletion(() -> close(false));
+            emitter.onTimeout(() -> close(true));
+            emitter.onError(e -> close(false));
+        }
+
+        void offer(Set<DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                dropped.increment();
+                log.info("Disconnecting slow dashboard stream client");
+                close(true);
+            }
+        }
+
+        /**
+         * Sends the current snapshot, then drains queued frames until closed. Frames
+         * queued while the snapshot is produced are sent right after it.
+         */
+        void run() {
+            try {
+                emitter.send(SseEmitter.event().name("snapshot").data(snapshotCache.get()));
+                while (!closed) {
+                    var frame = queue.poll(properties.getHeartbeatMs(), TimeUnit.MILLISECONDS);
+                    if (frame != null && frame != CLOSE) {
+                        emitter.send(frame);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client went away; the container reports the error to the emitter
+                close(false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close(true);
+            } catch (Exception e) {
+                log.warn("Dashboard stream failed: {}", e.getMessage());
+                close(false);
+                emitter.completeWithError(e);
+            }
+        }
+
+        void close(boolean complete) {
+            if (!subscribers.remove(this)) {
+                return;
+            }
+            closed = true;
+            connections.release();
+            queue.clear();
+            queue.offer(CLOSE);
+            if (complete) {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.be.service.impl;
+
+import com.be.dto.admin.UniqueMetric;
+import com.be.repository.HllSketchRepository;
+import com.be.util.HyperLogLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class HllSketchRepositoryImpl implements HllSketchRepository {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void createSketchTable() {
+        entityManager.createNativeQuery("""
+                CREATE TABLE IF NOT EXISTS hll_sketches (
+                    metric VARCHAR(32) NOT NULL,
+                    sketch_key BIGINT NOT NULL,
+                    day DATE NOT NULL,
+                    sketch VARBINARY(4100) NOT NULL,
+                    updated_at DATETIME(6) NOT NULL,
+                    PRIMARY KEY (metric, sketch_key, day)
+                )
+                """).executeUpdate();
+    }
+
+    @Override
+    public byte[] lockSketch(UniqueMetric metric, long key, LocalDate day) {
+        // the row must exist to be locked; concurrent first writers would otherwise both insert
+        entityManager.createNativeQuery("""
+                        INSERT IGNORE INTO hll_sketches (metric, sketch_key, day, sketch, updated_at)
+                        VALUES (:metric, :key, :day, :sketch, NOW(6))
+                        """)
+                .setParameter("metric", metric.name())
+                .setParameter("key", key)
+                .setParameter("day", day)
+                .setParameter("sketch", new HyperLogLog().toBytes())
+                .executeUpdate();
+        return (byte[]) entityManager.createNativeQuery("""
+                        SELECT sketch FROM hll_sketches
+                        WHERE metric = :metric AND sketch_key = :key AND day = :day
+                        FOR UPDATE
+                        """)
+                .setParameter("metric", metric.name())
+                .setParameter("key", key)
+                .setParameter("day", day)
+                .getSingleResult();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findSketches(UniqueMetric metric, long key, LocalDate from, LocalDate to) {
+        return entityManager.createNativeQuery("""
+                        SELECT day, sketch FROM hll_sketches
+                        WHERE metric = :metric AND sketch_key = :key AND day BETWEEN :from AND :to
+                        """)
+                .setParameter("metric", metric.name())
+                .setParameter("key", key)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    @Override
+    public void saveSketches(List<Object[]> rows) {
+        for (var from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO hll_sketches (metric, sketch_key, day, sketch, updated_at) VALUES (?, ?, ?, ?, NOW(6))
+                    ON DUPLICATE KEY UPDATE sketch = VALUES(sketch), updated_at = VALUES(updated_at)
+                    """, rows.subList(from, Math.min(rows.size(), from + INSERT_BATCH_SIZE)));
+        }
+    }
+
+    @Override
+    public void deleteSketches(UniqueMetric metric) {
+        entityManager.createNativeQuery("DELETE FROM hll_sketches WHERE metric = :metric")
+                .setParameter("metric", metric.name())
+                .executeUpdate();
+    }
+
+    @Override
+    public LocalDate findFirstOrderDay() {
+        var result = entityManager.createNativeQuery("""
+                SELECT DATE(LEAST(COALESCE((SELECT MIN(created_at) FROM orders), NOW()),
+                                  COALESCE((SELECT MIN(created_at) FROM orders_archive), NOW())))
+                """).getSingleResult();
+        return result instanceof Date date ? date.toLocalDate() : (LocalDate) result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findCategoryBuyers(LocalDate from, LocalDate to) {
+        return entityManager.createNativeQuery("""
+                        SELECT m.category_id, DATE(o.created_at), o.user_id
+                        FROM orders o
+                        JOIN order_items oi ON oi.order_id = o.id
+                        JOIN medicines m ON m.id = oi.medicine_id
+                        WHERE o.created_at >= :from AND o.created_at < :to AND m.category_id IS NOT NULL
+                        UNION
+                        SELECT m.category_id, DATE(o.created_at), o.user_id
+                        FROM orders_archive o
+                        JOIN order_items_archive oi ON oi.order_id = o.id AND oi.archive_month = o.archive_month
+                        JOIN medicines m ON m.id = oi.medicine_id
+                        WHERE o.created_at >= :from AND o.created_at < :to AND m.category_id IS NOT NULL
+                        """)
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("to", to.atStartOfDay())
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> findCategoryIdsByOrderId(Long orderId) {
+        List<Number> ids = entityManager.createNativeQuery("""
+                        SELECT DISTINCT m.category_id
+                        FROM order_items oi JOIN medicines m ON m.id = oi.medicine_id
+                        WHERE oi.order_id = :orderId AND m.category_id IS NOT NULL
+                        """)
+                .setParameter("orderId", orderId)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
@@ -0,0 +1,220 @@
+package com.be.service.impl;
+
+import com.be.config.InventoryConfig;
+import com.be.dto.product.InventorySummaryResponse;
+import com.be.dto.product.LowStockResponse;
+import com.be.dto.product.StockLevel;
+import com.be.event.InventoryAlertEvent;
+import com.be.event.ProductsChangedEvent;
+import com.be.repository.ProductRepository;
+import com.be.service.InventoryService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inventory watcher: holds the stock level of every active product in memory with
+ * running counters, and re-evaluates only the products named by a
+ * {@link ProductsChangedEvent} (orders, cancellations, admin edits). Those events are
+ * local to this instance, so every {@code reconcileMs} all products are re-read to pick
+ * up changes made elsewhere. Level changes are published as {@link InventoryAlertEvent}s.
+ * <p>
+ * Changed products are re-read rather than adjusted by deltas, so the state always
+ * converges on the committed rows. Reads run outside the lock and are numbered when
+ * they start; a row is only applied if no later-started read has already been applied
+ * for that product. A later read began after the commit that triggered an earlier one,
+ * so it sees at least that commit, and any commit after it triggers a read of its own.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryServiceImpl implements InventoryService {
+
+    private final ProductRepository productRepository;
+    private final InventoryConfig.AlertProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Stock> stocks = new HashMap<>();
+    // number of the latest read applied per product, including removed ones
+    private final Map<Long, Long> appliedReads = new HashMap<>();
+    private long reads;
+    private long loadRead;
+    private long inStock;
+    private long outOfStock;
+    private long lowStock;
+    private long totalUnits;
+
+    private record Stock(Long productId, String name, int quantity, int threshold, StockLevel level) {
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        stocks.clear();
+        appliedReads.clear();
+        inStock = outOfStock = lowStock = totalUnits = 0;
+        loadRead = ++reads;
+        for (var row : productRepository.findAllStock()) {
+            var stock = toStock(row);
+            if (stock != null) {
+                add(stock);
+            }
+        }
+        log.info("Inventory watcher loaded {} active products ({} low, {} out of stock)",
+                stocks.size(), lowStock, outOfStock);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        long read;
+        synchronized (this) {
+            read = ++reads;
+        }
+        var rows = productRepository.findStockByIdIn(event.productIds());
+        apply(rows, event.productIds(), read);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.alerts.reconcile-ms:60000}",
+            initialDelayString = "${inventory.alerts.reconcile-ms:60000}")
+    public void reconcile() {
+        long read;
+        Set<Long> watched;
+        synchronized (this) {
+            read = ++reads;
+            watched = new HashSet<>(stocks.keySet());
+        }
+        var rows = productRepository.findAllStock();
+        for (var row : rows) {
+            watched.add((Long) row[0]);
+        }
+        apply(rows, watched, read);
+    }
+
+    /**
+     * Applies the re-read {@code rows} of {@code productIds}; ids without a row were
+     * deleted. Publishes an alert for every product whose level changed.
+     */
+    private void apply(List<Object[]> rows, Collection<Long> productIds, long read) {
+        var alerts = new ArrayList<InventoryAlertEvent>();
+        synchronized (this) {
+            var missing = new HashSet<>(productIds);
+            for (var row : rows) {
+                var productId = (Long) row[0];
+                missing.remove(productId);
+                if (!claim(productId, read)) {
+                    continue;
+                }
+                var current = toStock(row);
+                var previous = remove(productId);
+                if (current == null) {
+                    continue;
+                }
+                add(current);
+                if (previous == null || previous.level() != current.level()) {
+                    alerts.add(new InventoryAlertEvent(productId, current.name(), current.quantity(), current.threshold(),
+                            current.level(), previous != null ? previous.level() : null));
+                }
+            }
+            // deleted products
+            for (var productId : missing) {
+                if (claim(productId, read)) {
+                    remove(productId);
+                }
+            }
+        }
+
+        for (var alert : alerts) {
+            if (alert.level() != StockLevel.IN_STOCK) {
+                log.warn("Product {} ({}) is {}: {} left, threshold {}", alert.productId(), alert.productName(),
+                        alert.level(), alert.quantity(), alert.lowStockThreshold());
+            }
+            eventPublisher.publishEvent(alert);
+        }
+    }
+
+    @Override
+    public synchronized List<LowStockResponse> getLowStock(boolean includeOutOfStock) {
+        return stocks.values().stream()
+                .filter(stock -> stock.level() == StockLevel.LOW_STOCK
+                        || (includeOutOfStock && stock.level() == StockLevel.OUT_OF_STOCK))
+                .sorted(Comparator.comparingInt(Stock::quantity).thenComparing(Stock::productId))
+                .map(stock -> LowStockResponse.builder()
+                        .productId(stock.productId())
+                        .name(stock.name())
+                        .stock(stock.quantity())
+                        .lowStockThreshold(stock.threshold())
+                        .level(stock.level())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    public synchronized InventorySummaryResponse getSummary() {
+        return InventorySummaryResponse.builder()
+                .activeProducts(stocks.size())
+                .productsInStock(inStock + lowStock)
+                .outOfStockProducts(outOfStock)
+                .lowStockProducts(lowStock)
+                .totalInventoryUnits(totalUnits)
+                .build();
+    }
+
+    /**
+     * Whether {@code read} is newer than the last read applied for the product; if so it
+     * becomes the last one.
+     */
+    private boolean claim(Long productId, long read) {
+        var applied = appliedReads.getOrDefault(productId, loadRead);
+        if (applied > read) {
+            return false;
+        }
+        appliedReads.put(productId, read);
+        return true;
+    }
+
+    /**
+     * Returns {@code null} for inactive products, which are not watched.
+     */
+    private Stock toStock(Object[] row) {
+        if (!Boolean.TRUE.equals(row[4])) {
+            return null;
+        }
+        var quantity = row[2] != null ? (Integer) row[2] : 0;
+        var threshold = row[3] != null ? (Integer) row[3] : properties.getDefaultLowStockThreshold();
+        return new Stock((Long) row[0], (String) row[1], quantity, threshold, StockLevel.of(quantity, threshold));
+    }
+
+    private void add(Stock stock) {
+        stocks.put(stock.productId(), stock);
+        count(stock, 1);
+    }
+
+    private Stock remove(Long productId) {
+        var stock = stocks.remove(productId);
+        if (stock != null) {
+            count(stock, -1);
+        }
+        return stock;
+    }
+
+    private void count(Stock stock, int sign) {
+        switch (stock.level()) {
+            case IN_STOCK -> inStock += sign;
+            case LOW_STOCK -> lowStock += sign;
+            case OUT_OF_STOCK -> outOfStock += sign;
+        }
+        totalUnits += (long) sign * stock.quantity();
+    }
+}
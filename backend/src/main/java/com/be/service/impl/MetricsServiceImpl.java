@@ -0,0 +1,114 @@
+package com.be.service.impl;
+
+import com.be.dto.admin.DashboardResponse;
+import com.be.dto.admin.TimeGranularity;
+import com.be.dto.admin.TimeSeriesResponse;
+import com.be.exception.ValidationException;
+import com.be.repository.DashboardRollupRepository;
+import com.be.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chart series served from the rollup tables: hourly buckets from the hourly rollups,
+ * everything coarser from the daily ones, so the rows read depend only on the number
+ * of buckets requested.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MetricsServiceImpl implements MetricsService {
+
+    private static final int MAX_POINTS = 5000;
+    private static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+
+    private final DashboardRollupRepository rollupRepository;
+    private final TopProductsTracker topProductsTracker;
+
+    @Override
+    public List<DashboardResponse.TopProductResponse> getTopProducts(int limit) {
+        return topProductsTracker.top(limit);
+    }
+
+    @Override
+    public TimeSeriesResponse getTimeSeries(TimeGranularity granularity, LocalDateTime from, LocalDateTime to,
+                                            Long productId, Long categoryId) {
+        var end = to != null ? to : LocalDateTime.now();
+        var start = from != null ? from : end.minusDays(30);
+        if (start.isAfter(end)) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (granularity == TimeGranularity.HOUR && Duration.between(start, end).compareTo(MAX_HOURLY_RANGE) > 0) {
+            throw new ValidationException("Hourly series are limited to " + MAX_HOURLY_RANGE.toDays() + " days");
+        }
+
+        var buckets = new ArrayList<LocalDateTime>();
+        for (var bucket = granularity.bucketStart(start); !bucket.isAfter(end); bucket = granularity.next(bucket)) {
+            if (buckets.size() == MAX_POINTS) {
+                throw new ValidationException("Range too large for " + granularity + " buckets");
+            }
+            buckets.add(bucket);
+        }
+
+        var filtered = productId != null || categoryId != null;
+        var orders = byBucket(filtered
+                ? rollupRepository.getProductSalesSeries(granularity, start, end, productId, categoryId)
+                : rollupRepository.getOrderSeries(granularity, start, end));
+        var customers = filtered ? Map.<LocalDateTime, Object[]>of()
+                : byBucket(rollupRepository.getNewCustomerSeries(granularity, start, end));
+
+        var points = new ArrayList<TimeSeriesResponse.Point>(buckets.size());
+        for (var bucket : buckets) {
+            var orderRow = orders.get(bucket);
+            var customerRow = customers.get(bucket);
+            points.add(TimeSeriesResponse.Point.builder()
+                    .bucket(bucket)
+                    .orders(orderRow != null ? ((Number) orderRow[1]).longValue() : 0L)
+                    .revenue(orderRow != null ? ((Number) orderRow[2]).doubleValue() : 0.0)
+                    .units(orderRow != null ? ((Number) orderRow[3]).longValue() : 0L)
+                    .newCustomers(filtered ? null : customerRow != null ? ((Number) customerRow[1]).longValue() : 0L)
+                    .build());
+        }
+
+        return TimeSeriesResponse.builder()
+                .granularity(granularity)
+                .from(start)
+                .to(end)
+                .productId(productId)
+                .categoryId(categoryId)
+                .points(points)
+                .build();
+    }
+
+    private static Map<LocalDateTime, Object[]> byBucket(List<Object[]> rows) {
+        var result = new HashMap<LocalDateTime, Object[]>();
+        for (var row : rows) {
+            result.put(toLocalDateTime(row[0]), row);
+        }
+        return result;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().atStartOfDay();
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,304 @@
+package com.be.service.impl;
+
+import com.be.entity.OrderStatus;
+import com.be.repository.OrderArchiveRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Archive tables mirror {@code orders} and {@code order_items} and are range partitioned
+ * by the month the order was created ({@code archive_month = YYYYMM}), so range reads
+ * prune to the months they need and old months can be dropped as whole partitions.
+ */
+@Repository
+public class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+
+    private static final String ORDER_COLUMNS = """
+            id, user_id, tracking_number, phone, shipping_address, payment_method, status, payment_status,
+            subtotal, tax, shipping, total, shipped_at, delivered_at, created_at, updated_at""";
+
+    private static final String ITEM_COLUMNS = "id, order_id, medicine_id, quantity, unit_price, sub_total";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void createArchiveTables() {
+        entityManager.createNativeQuery("""
+                CREATE TABLE IF NOT EXISTS orders_archive (
+                    id BIGINT NOT NULL,
+                    user_id BIGINT NOT NULL,
+                    tracking_number VARCHAR(255) NOT NULL,
+                    phone VARCHAR(255),
+                    shipping_address VARCHAR(255),
+                    payment_method VARCHAR(32),
+                    status VARCHAR(32),
+                    payment_status VARCHAR(32),
+                    subtotal DECIMAL(10, 2),
+                    tax DECIMAL(10, 2),
+                    shipping DECIMAL(10, 2),
+                    total DECIMAL(10, 2),
+                    shipped_at DATETIME(6),
+                    delivered_at DATETIME(6),
+                    created_at DATETIME(6) NOT NULL,
+                    updated_at DATETIME(6),
+                    archived_at DATETIME(6) NOT NULL,
+                    archive_month INT NOT NULL,
+                    PRIMARY KEY (id, archive_month),
+                    KEY idx_orders_archive_user (user_id, created_at),
+                    KEY idx_orders_archive_created (created_at)
+                )
+                PARTITION BY RANGE (archive_month) (PARTITION p_future VALUES LESS THAN MAXVALUE)
+                """).executeUpdate();
+
+        entityManager.createNativeQuery("""
+                CREATE TABLE IF NOT EXISTS order_items_archive (
+                    id BIGINT NOT NULL,
+                    order_id BIGINT NOT NULL,
+                    medicine_id BIGINT NOT NULL,
+                    quantity INT NOT NULL,
+                    unit_price DECIMAL(10, 2) NOT NULL,
+                    sub_total DECIMAL(10, 2) NOT NULL,
+                    archive_month INT NOT NULL,
+                    PRIMARY KEY (id, archive_month),
+                    KEY idx_order_items_archive_order (order_id)
+                )
+                PARTITION BY RANGE (archive_month) (PARTITION p_future VALUES LESS THAN MAXVALUE)
+                """).executeUpdate();
+    }
+
+    @Override
+    public YearMonth findNewestArchivePartition() {
+        List<?> names = entityManager.createNativeQuery("""
+                SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'orders_archive' AND PARTITION_NAME <> 'p_future'
+                ORDER BY PARTITION_ORDINAL_POSITION DESC
+                LIMIT 1
+                """).getResultList();
+        if (names.isEmpty()) {
+            return null;
+        }
+        var key = Integer.parseInt(((String) names.getFirst()).substring(1));
+        return YearMonth.of(key / 100, key % 100);
+    }
+
+    @Override
+    public void addArchivePartition(YearMonth month) {
+        for (var table : List.of("orders_archive", "order_items_archive")) {
+            entityManager.createNativeQuery("""
+                    ALTER TABLE %s REORGANIZE PARTITION p_future INTO (
+                        PARTITION p%d VALUES LESS THAN (%d),
+                        PARTITION p_future VALUES LESS THAN MAXVALUE)
+                    """.formatted(table, monthKey(month), monthKey(month.plusMonths(1)))).executeUpdate();
+        }
+    }
+
+    @Override
+    public LocalDateTime findOldestArchivableCreatedAt(Collection<OrderStatus> statuses, LocalDateTime before) {
+        var result = entityManager.createNativeQuery("""
+                        SELECT MIN(created_at) FROM orders WHERE status IN (:statuses) AND created_at < :before
+                        """)
+                .setParameter("statuses", statusNames(statuses))
+                .setParameter("before", before)
+                .getSingleResult();
+        return toLocalDateTime(result);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> findArchivableOrderIds(Collection<OrderStatus> statuses, LocalDateTime before, int limit) {
+        List<Number> ids = entityManager.createNativeQuery("""
+                        SELECT id FROM orders
+                        WHERE status IN (:statuses) AND created_at < :before
+                        ORDER BY created_at
+                        LIMIT :limit
+                        """)
+                .setParameter("statuses", statusNames(statuses))
+                .setParameter("before", before)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    @Override
+    public void moveToArchive(List<Long> orderIds) {
+        entityManager.createNativeQuery("""
+                        INSERT INTO orders_archive (%s, archived_at, archive_month)
+                        SELECT %s, NOW(6), YEAR(created_at) * 100 + MONTH(created_at)
+                        FROM orders WHERE id IN (:ids)
+                        """.formatted(ORDER_COLUMNS, ORDER_COLUMNS))
+                .setParameter("ids", orderIds)
+                .executeUpdate();
+
+        entityManager.createNativeQuery("""
+                        INSERT INTO order_items_archive (%s, archive_month)
+                        SELECT oi.id, oi.order_id, oi.medicine_id, oi.quantity, oi.unit_price, oi.sub_total,
+                               YEAR(o.created_at) * 100 + MONTH(o.created_at)
+                        FROM order_items oi JOIN orders o ON o.id = oi.order_id
+                        WHERE oi.order_id IN (:ids)
+                        """.formatted(ITEM_COLUMNS))
+                .setParameter("ids", orderIds)
+                .executeUpdate();
+
+        entityManager.createNativeQuery("DELETE FROM order_items WHERE order_id IN (:ids)")
+                .setParameter("ids", orderIds)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM orders WHERE id IN (:ids)")
+                .setParameter("ids", orderIds)
+                .executeUpdate();
+    }
+
+    @Override
+    public LocalDateTime findNewestArchivedCreatedAt() {
+        return toLocalDateTime(entityManager.createNativeQuery("SELECT MAX(created_at) FROM orders_archive")
+                .getSingleResult());
+    }
+
+    @Override
+    public boolean existsArchivedOrderByUserId(Long userId) {
+        return !entityManager.createNativeQuery("SELECT 1 FROM orders_archive WHERE user_id = :userId LIMIT 1")
+                .setParameter("userId", userId)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Each branch is sorted and cut to {@code offset + limit} rows on its own index
+     * before the union, so a page never sorts more than twice its window.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findOrderHistory(Long userId, OrderStatus status, LocalDateTime startDate,
+                                           LocalDateTime endDate, int offset, int limit) {
+        var params = new HashMap<String, Object>();
+        var filter = historyFilter(userId, status, startDate, endDate, params);
+        var query = entityManager.createNativeQuery("""
+                SELECT o.id, o.user_id, u.email, u.full_name, o.phone, o.shipping_address, o.payment_method,
+                       o.status, o.payment_status, o.subtotal, o.tax, o.shipping, o.total, o.created_at, o.updated_at
+                FROM (
+                    (SELECT %s FROM orders WHERE %s
+                     ORDER BY created_at DESC, id DESC LIMIT :window)
+                    UNION ALL
+                    (SELECT %s FROM orders_archive WHERE %s%s
+                     ORDER BY created_at DESC, id DESC LIMIT :window)
+                ) o
+                JOIN users u ON u.id = o.user_id
+                ORDER BY o.created_at DESC, o.id DESC
+                LIMIT :limit OFFSET :offset
+                """.formatted(ORDER_COLUMNS, filter, ORDER_COLUMNS, filter, archiveMonthFilter(startDate, endDate, params)));
+        params.forEach(query::setParameter);
+        return query.setParameter("window", offset + limit)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+    }
+
+    @Override
+    public long countOrderHistory(Long userId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate) {
+        var params = new HashMap<String, Object>();
+        var filter = historyFilter(userId, status, startDate, endDate, params);
+        var query = entityManager.createNativeQuery("""
+                SELECT (SELECT COUNT(*) FROM orders WHERE %s)
+                     + (SELECT COUNT(*) FROM orders_archive WHERE %s%s)
+                """.formatted(filter, filter, archiveMonthFilter(startDate, endDate, params)));
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> countArchivedItemsByOrderIds(Collection<Long> orderIds) {
+        return entityManager.createNativeQuery("""
+                        SELECT order_id, COUNT(*) FROM order_items_archive WHERE order_id IN (:ids) GROUP BY order_id
+                        """)
+                .setParameter("ids", orderIds)
+                .getResultList();
+    }
+
+    @Override
+    public Object[] findArchivedOrder(Long orderId) {
+        List<?> rows = entityManager.createNativeQuery("""
+                        SELECT o.id, o.user_id, u.email, u.full_name, o.phone, o.shipping_address, o.payment_method,
+                               o.status, o.payment_status, o.subtotal, o.tax, o.shipping, o.total,
+                               o.shipped_at, o.delivered_at, o.created_at, o.updated_at
+                        FROM orders_archive o JOIN users u ON u.id = o.user_id
+                        WHERE o.id = :id
+                        """)
+                .setParameter("id", orderId)
+                .getResultList();
+        return rows.isEmpty() ? null : (Object[]) rows.getFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findArchivedItems(Long orderId) {
+        return entityManager.createNativeQuery("""
+                        SELECT oi.id, oi.medicine_id, p.name, oi.quantity, oi.unit_price, oi.sub_total
+                        FROM order_items_archive oi LEFT JOIN medicines p ON p.id = oi.medicine_id
+                        WHERE oi.order_id = :orderId
+                        """)
+                .setParameter("orderId", orderId)
+                .getResultList();
+    }
+
+    private String historyFilter(Long userId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                 Map<String, Object> params) {
+        var conditions = new ArrayList<String>();
+        conditions.add("1 = 1");
+        if (userId != null) {
+            conditions.add("user_id = :userId");
+            params.put("userId", userId);
+        }
+        if (status != null) {
+            conditions.add("status = :status");
+            params.put("status", status.name());
+        }
+        if (startDate != null) {
+            conditions.add("created_at >= :startDate");
+            params.put("startDate", startDate);
+        }
+        if (endDate != null) {
+            conditions.add("created_at <= :endDate");
+            params.put("endDate", endDate);
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private String archiveMonthFilter(LocalDateTime startDate, LocalDateTime endDate, Map<String, Object> params) {
+        var filter = new StringBuilder();
+        if (startDate != null) {
+            filter.append(" AND archive_month >= :startMonth");
+            params.put("startMonth", monthKey(YearMonth.from(startDate)));
+        }
+        if (endDate != null) {
+            filter.append(" AND archive_month <= :endMonth");
+            params.put("endMonth", monthKey(YearMonth.from(endDate)));
+        }
+        return filter.toString();
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private static List<String> statusNames(Collection<OrderStatus> statuses) {
+        return statuses.stream().map(Enum::name).toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
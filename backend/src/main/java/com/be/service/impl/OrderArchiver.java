@@ -0,0 +1,107 @@
+package com.be.service.impl;
+
+import com.be.config.OrderConfig;
+import com.be.entity.OrderStatus;
+import com.be.repository.OrderArchiveRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Moves finished orders out of the hot {@code orders}/{@code order_items} tables into
+ * the monthly partitioned archive, and tells readers whether a query has to look at
+ * the archive at all.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+    static final List<OrderStatus> ARCHIVABLE_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderConfig.ArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate.executeWithoutResult(status -> orderArchiveRepository.createArchiveTables());
+    }
+
+    /**
+     * Whether orders matching the given filters may live in the archive. Read from the
+     * archive on every call (an index lookup), since any instance may have archived.
+     */
+    public boolean covers(LocalDateTime startDate, OrderStatus status) {
+        if (status != null && !ARCHIVABLE_STATUSES.contains(status)) {
+            return false;
+        }
+        var through = orderArchiveRepository.findNewestArchivedCreatedAt();
+        if (through == null) {
+            return false;
+        }
+        return startDate == null || !startDate.isAfter(through);
+    }
+
+    /**
+     * Whether any of the user's orders live in the archive.
+     */
+    public boolean coversUser(Long userId) {
+        return orderArchiveRepository.existsArchivedOrderByUserId(userId);
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 2 * * *}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        var cutoff = LocalDate.now().minusDays(properties.getMinAgeDays()).atStartOfDay();
+        var oldest = orderArchiveRepository.findOldestArchivableCreatedAt(ARCHIVABLE_STATUSES, cutoff);
+        if (oldest == null) {
+            return;
+        }
+
+        ensurePartitions(YearMonth.from(oldest), YearMonth.from(cutoff));
+
+        var archived = 0;
+        while (true) {
+            var moved = transactionTemplate.execute(status -> {
+                var orderIds = orderArchiveRepository.findArchivableOrderIds(
+                        ARCHIVABLE_STATUSES, cutoff, properties.getChunkSize());
+                if (!orderIds.isEmpty()) {
+                    orderArchiveRepository.moveToArchive(orderIds);
+                }
+                return orderIds.size();
+            });
+            archived += moved;
+            if (moved < properties.getChunkSize()) {
+                break;
+            }
+        }
+
+        log.info("Archived {} orders created before {}", archived, cutoff);
+    }
+
+    /**
+     * Splits monthly partitions off {@code p_future} up to {@code to}. Months older than
+     * the first partition ever created share that partition.
+     */
+    private void ensurePartitions(YearMonth from, YearMonth to) {
+        var newest = orderArchiveRepository.findNewestArchivePartition();
+        var month = newest == null ? from : newest.plusMonths(1);
+        while (!month.isAfter(to)) {
+            var partitionMonth = month;
+            transactionTemplate.executeWithoutResult(status -> orderArchiveRepository.addArchivePartition(partitionMonth));
+            month = month.plusMonths(1);
+        }
+    }
+}
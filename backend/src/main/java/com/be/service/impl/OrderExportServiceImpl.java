@@ -0,0 +1,331 @@
+package com.be.service.impl;
+
+import com.be.config.OrderConfig;
+import com.be.dto.order.OrderExportFormat;
+import com.be.entity.OrderStatus;
+import com.be.exception.ResourceNotFoundException;
+import com.be.repository.UserRepository;
+import com.be.service.OrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams order history with items straight from a forward-only JDBC cursor, so memory
+ * use does not depend on the size of the export. Hot orders are written first, then
+ * archived ones when the filters reach into the archive; both are read in one
+ * read-only REPEATABLE READ transaction, so an order archived meanwhile is neither
+ * lost nor exported twice.
+ * <p>
+ * Server-side cursors are enabled only on a small pool of the export's own, so the
+ * application's regular queries keep the driver's default fetching.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String EXPORT_QUERY = """
+            SELECT o.id, o.created_at, o.status, o.payment_status, o.payment_method, u.email, u.full_name,
+                   o.phone, o.shipping_address, o.subtotal, o.tax, o.shipping, o.total,
+                   oi.medicine_id, p.name, oi.quantity, oi.unit_price, oi.sub_total
+            FROM %s o
+            JOIN users u ON u.id = o.user_id
+            LEFT JOIN %s oi ON oi.order_id = o.id%s
+            LEFT JOIN medicines p ON p.id = oi.medicine_id
+            WHERE %s
+            ORDER BY o.id DESC, oi.id
+            """;
+
+    private static final String CSV_HEADER = "order_id,created_at,status,payment_status,payment_method,email,"
+            + "full_name,phone,shipping_address,subtotal,tax,shipping,total,"
+            + "product_id,product_name,quantity,unit_price,line_total";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final UserRepository userRepository;
+    private final OrderArchiver orderArchiver;
+    private final ObjectMapper objectMapper;
+    private final OrderConfig.ExportProperties properties;
+
+    private HikariDataSource exportDataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    public record ExportedItem(Long productId, String productName, Integer quantity, BigDecimal unitPrice,
+                               BigDecimal subTotal) {
+    }
+
+    public record ExportedOrder(Long id, LocalDateTime createdAt, String status, String paymentStatus,
+                                String paymentMethod, String email, String fullName, String phone,
+                                String shippingAddress, BigDecimal subtotal, BigDecimal tax, BigDecimal shipping,
+                                BigDecimal total, List<ExportedItem> items) {
+    }
+
+    @PostConstruct
+    public void init() {
+        var url = dataSourceProperties.determineUrl();
+        exportDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url + (url.contains("?") ? "&" : "?") + "useCursorFetch=true")
+                .build();
+        exportDataSource.setPoolName("order-export");
+        exportDataSource.setMaximumPoolSize(properties.getMaxConnections());
+        exportDataSource.setMinimumIdle(0);
+
+        var template = new JdbcTemplate(exportDataSource);
+        template.setFetchSize(properties.getFetchSize());
+        jdbcTemplate = new NamedParameterJdbcTemplate(template);
+
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(exportDataSource));
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PreDestroy
+    public void close() {
+        exportDataSource.close();
+    }
+
+    @Override
+    public StreamingResponseBody exportUserOrders(String userEmail, OrderExportFormat format) {
+        var user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return export(format, user.getId(), null, null, null);
+    }
+
+    @Override
+    public StreamingResponseBody exportAllOrders(OrderExportFormat format, OrderStatus status,
+                                                 LocalDateTime startDate, LocalDateTime endDate) {
+        return export(format, null, status, startDate, endDate);
+    }
+
+    private StreamingResponseBody export(OrderExportFormat format, Long userId, OrderStatus status,
+                                         LocalDateTime startDate, LocalDateTime endDate) {
+        var includeArchive = orderArchiver.covers(startDate, status);
+        return out -> {
+            var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            var sink = format == OrderExportFormat.CSV ? new CsvSink(writer) : new NdjsonSink(writer);
+            // one snapshot for both tables
+            var rows = transactionTemplate.execute(tx -> {
+                var count = stream(sink, userId, status, startDate, endDate, false);
+                if (includeArchive) {
+                    count += stream(sink, userId, status, startDate, endDate, true);
+                }
+                return count;
+            });
+            sink.finish();
+            writer.flush();
+            log.info("Exported {} order rows as {}", rows, format);
+        };
+    }
+
+    private long stream(RowSink sink, Long userId, OrderStatus status, LocalDateTime startDate,
+                        LocalDateTime endDate, boolean archive) {
+        var params = new HashMap<String, Object>();
+        var filter = filter(userId, status, startDate, endDate, archive, params);
+        var sql = archive
+                ? EXPORT_QUERY.formatted("orders_archive", "order_items_archive",
+                " AND oi.archive_month = o.archive_month", filter)
+                : EXPORT_QUERY.formatted("orders", "order_items", "", filter);
+
+        var rows = new long[1];
+        jdbcTemplate.query(sql, params, rs -> {
+            rows[0]++;
+            try {
+                sink.row(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows[0];
+    }
+
+    private static String filter(Long userId, OrderStatus status, LocalDateTime startDate, LocalDateTime endDate,
+                                 boolean archive, Map<String, Object> params) {
+        var conditions = new ArrayList<String>();
+        conditions.add("1 = 1");
+        if (userId != null) {
+            conditions.add("o.user_id = :userId");
+            params.put("userId", userId);
+        }
+        if (status != null) {
+            conditions.add("o.status = :status");
+            params.put("status", status.name());
+        }
+        if (startDate != null) {
+            conditions.add("o.created_at >= :startDate");
+            params.put("startDate", startDate);
+            if (archive) {
+                conditions.add("o.archive_month >= :startMonth");
+                params.put("startMonth", monthKey(YearMonth.from(startDate)));
+            }
+        }
+        if (endDate != null) {
+            conditions.add("o.created_at <= :endDate");
+            params.put("endDate", endDate);
+            if (archive) {
+                conditions.add("o.archive_month <= :endMonth");
+                params.put("endMonth", monthKey(YearMonth.from(endDate)));
+            }
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private interface RowSink {
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One line per order item, order columns repeated; orders without items get one line.
+     */
+    private static final class CsvSink implements RowSink {
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+        private boolean headerWritten;
+
+        CsvSink(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                headerWritten = true;
+            }
+            var columns = rs.getMetaData().getColumnCount();
+            for (var i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                var value = rs.getObject(i);
+                if (value instanceof Timestamp timestamp) {
+                    value = timestamp.toLocalDateTime();
+                }
+                if (value != null) {
+                    writer.write(escape(value.toString(), value instanceof String));
+                }
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+        }
+
+        /**
+         * Quotes values containing separators, and neutralises text (names, addresses,
+         * phones) a spreadsheet would evaluate as a formula by prefixing {@code '}.
+         */
+        private static String escape(String value, boolean text) {
+            var formula = text && !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+            if (!formula && value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return "\"" + (formula ? "'" : "") + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * One JSON object per order with its items. Rows of an order are adjacent in the
+     * cursor, so only the current order is held in memory.
+     */
+    private final class NdjsonSink implements RowSink {
+        private final Writer writer;
+        private final SequenceWriter sequenceWriter;
+        private ExportedOrder current;
+        private boolean written;
+
+        NdjsonSink(Writer writer) throws IOException {
+            this.writer = writer;
+            this.sequenceWriter = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            var orderId = rs.getLong(1);
+            if (current == null || !current.id().equals(orderId)) {
+                flushCurrent();
+                current = new ExportedOrder(orderId,
+                        rs.getTimestamp(2).toLocalDateTime(),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getString(6),
+                        rs.getString(7),
+                        rs.getString(8),
+                        rs.getString(9),
+                        rs.getBigDecimal(10),
+                        rs.getBigDecimal(11),
+                        rs.getBigDecimal(12),
+                        rs.getBigDecimal(13),
+                        new ArrayList<>());
+            }
+            var productId = rs.getObject(14, Long.class);
+            if (productId != null) {
+                current.items().add(new ExportedItem(productId, rs.getString(15), rs.getObject(16, Integer.class),
+                        rs.getBigDecimal(17), rs.getBigDecimal(18)));
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            flushCurrent();
+            sequenceWriter.flush();
+            // the separator only goes between values, so terminate the last line here
+            if (written) {
+                writer.write('\n');
+            }
+        }
+
+        private void flushCurrent() throws IOException {
+            if (current != null) {
+                sequenceWriter.write(current);
+                written = true;
+                current = null;
+            }
+        }
+    }
+}
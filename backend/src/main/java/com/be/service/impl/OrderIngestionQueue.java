@@ -0,0 +1,218 @@
+package com.be.service.impl;
+
+import com.be.config.OrderConfig;
+import com.be.dto.order.CreateOrderRequest;
+import com.be.entity.Order;
+import com.be.exception.ResourceNotFoundException;
+import com.be.exception.ServiceUnavailableException;
+import com.be.exception.ValidationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Optional group-commit path for order creation. Callers enqueue a validated request
+ * and wait on a per-order future while a single writer thread commits up to
+ * {@code batchSize} orders (or whatever arrived within {@code maxWaitMs}) in one
+ * transaction. Callers wait at most {@code submitTimeoutMs}; once the writer has
+ * stopped, queued and new submissions fail with a {@link ServiceUnavailableException}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderIngestionQueue {
+
+    private static final String STOPPED_MESSAGE = "Order intake is shutting down, please retry";
+
+    private final OrderConfig.IngestionProperties properties;
+    private final OrderWriter orderWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    private BlockingQueue<PendingOrder> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    private record PendingOrder(CreateOrderRequest request, String userEmail, CompletableFuture<Order> result) {
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isGroupCommitEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("order-ingestion-writer")
+                .daemon()
+                .start(this::drainLoop);
+        log.info("Order group commit enabled (batch size {}, max wait {} ms)",
+                properties.getBatchSize(), properties.getMaxWaitMs());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        failQueued();
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Enqueues the order and blocks until the writer has committed or rejected it.
+     * When the queue is full the order is committed on the caller's thread instead.
+     */
+    public Order submit(CreateOrderRequest request, String userEmail) {
+        var pending = new PendingOrder(request, userEmail, new CompletableFuture<>());
+        if (!running) {
+            throw new ServiceUnavailableException(STOPPED_MESSAGE);
+        }
+        if (!queue.offer(pending)) {
+            commitSingle(pending);
+        } else if (!running && queue.remove(pending)) {
+            // the writer may have drained for the last time before this offer
+            throw new ServiceUnavailableException(STOPPED_MESSAGE);
+        }
+
+        try {
+            return pending.result().get(properties.getSubmitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // skipped by the writer if it has not picked the order up yet
+            pending.result().cancel(false);
+            throw new ServiceUnavailableException(
+                    "Order is taking longer than expected; check your orders before placing it again");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result().cancel(false);
+            throw new ServiceUnavailableException(STOPPED_MESSAGE);
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            drain();
+        } finally {
+            running = false;
+            failQueued();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null || first.result().isDone()) {
+                    continue;
+                }
+
+                var batch = new ArrayList<PendingOrder>(properties.getBatchSize());
+                batch.add(first);
+                var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxWaitMs());
+                while (batch.size() < properties.getBatchSize()) {
+                    var remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (!next.result().isDone()) {
+                        batch.add(next);
+                    }
+                }
+
+                commitBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Order ingestion writer error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Prepares and persists every order of the batch in one transaction. Orders that
+     * fail validation while being prepared are rejected individually; any other failure rolls the group
+     * back and each order is retried in its own transaction so callers still get
+     * their real outcome.
+     */
+    private void commitBatch(List<PendingOrder> batch) {
+        var placed = new ArrayList<Order>(batch.size());
+        var rejections = new ArrayList<RuntimeException>(batch.size());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                placed.clear();
+                rejections.clear();
+                for (var pending : batch) {
+                    OrderWriter.PreparedOrder order;
+                    try {
+                        order = orderWriter.prepare(pending.request(), pending.userEmail());
+                    } catch (ValidationException | ResourceNotFoundException e) {
+                        placed.add(null);
+                        rejections.add(e);
+                        continue;
+                    }
+                    // persist() may already have written when it fails, so its errors
+                    // abort the whole group and fall back to per-order commits.
+                    placed.add(orderWriter.persist(order));
+                    rejections.add(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} orders failed, retrying individually: {}", batch.size(), e.getMessage());
+            batch.forEach(this::commitSingle);
+            return;
+        }
+
+        for (var i = 0; i < batch.size(); i++) {
+            var result = batch.get(i).result();
+            if (rejections.get(i) != null) {
+                result.completeExceptionally(rejections.get(i));
+            } else {
+                result.complete(placed.get(i));
+            }
+        }
+    }
+
+    private void failQueued() {
+        PendingOrder pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new ServiceUnavailableException(STOPPED_MESSAGE));
+        }
+    }
+
+    private void commitSingle(PendingOrder pending) {
+        try {
+            pending.result().complete(transactionTemplate.execute(status ->
+                    orderWriter.place(pending.request(), pending.userEmail())));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.be.service.impl;
+
+import com.be.config.OrderConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies quote tokens: {@code base64url(json payload) "." base64url(HMAC-SHA256)}.
+ * The payload binds the quoted lines and prices to the customer and an expiry.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderQuoteSigner {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final String KEY_LABEL = "order-quote-token";
+
+    private final OrderConfig.QuoteProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    private SecretKeySpec key;
+
+    public record QuotedLine(Long productId, int quantity, BigDecimal unitPrice) {
+    }
+
+    public record Quote(String email, long expiresAt, List<QuotedLine> lines) {
+    }
+
+    @PostConstruct
+    public void init() {
+        var secret = properties.getSecret();
+        key = new SecretKeySpec(secret == null || secret.isBlank()
+                ? deriveKey(jwtSecret.getBytes(StandardCharsets.UTF_8), KEY_LABEL)
+                : secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+    }
+
+    /**
+     * HKDF-SHA256 (RFC 5869) with an empty salt, one 32-byte output block.
+     */
+    private static byte[] deriveKey(byte[] inputKey, String label) {
+        try {
+            var extract = Mac.getInstance(HMAC_SHA256);
+            extract.init(new SecretKeySpec(new byte[32], HMAC_SHA256));
+            var pseudoRandomKey = extract.doFinal(inputKey);
+
+            var expand = Mac.getInstance(HMAC_SHA256);
+            expand.init(new SecretKeySpec(pseudoRandomKey, HMAC_SHA256));
+            expand.update(label.getBytes(StandardCharsets.UTF_8));
+            expand.update((byte) 1);
+            return expand.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to derive quote key", e);
+        }
+    }
+
+    public Quote newQuote(String email, List<QuotedLine> lines) {
+        return new Quote(email, Instant.now().plusSeconds(properties.getTtlSeconds()).getEpochSecond(), lines);
+    }
+
+    public String sign(Quote quote) {
+        try {
+            var payload = objectMapper.writeValueAsBytes(quote);
+            var encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to sign quote", e);
+        }
+    }
+
+    /**
+     * Returns the quote if the token is authentic, unexpired and issued to {@code email}.
+     */
+    public Optional<Quote> verify(String token, String email) {
+        try {
+            var separator = token.indexOf('.');
+            if (separator < 0) {
+                return Optional.empty();
+            }
+            var decoder = Base64.getUrlDecoder();
+            var payload = decoder.decode(token.substring(0, separator));
+            var signature = decoder.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(mac(payload), signature)) {
+                return Optional.empty();
+            }
+
+            var quote = objectMapper.readValue(payload, Quote.class);
+            if (!quote.email().equals(email) || quote.expiresAt() < Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(quote);
+        } catch (IllegalArgumentException | IOException e) {
+            log.debug("Rejected malformed quote token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            var mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable", e);
+        }
+    }
+}
@@ -4,27 +4,41 @@ import com.be.dto.admin.DashboardResponse;
 import com.be.dto.common.PagedResponse;
 import com.be.dto.order.*;
 import com.be.entity.*;
+import com.be.event.OrderEventPublisher;
+import com.be.event.ProductsChangedEvent;
 import com.be.exception.ResourceNotFoundException;
 import com.be.exception.ValidationException;
-import com.be.repository.DashboardRepository;
+import com.be.repository.OrderArchiveRepository;
+import com.be.repository.OrderItemRepository;
 import com.be.repository.OrderRepository;
 import com.be.repository.ProductRepository;
 import com.be.repository.UserRepository;
 import com.be.service.OrderService;
-import com.be.util.PaymentUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,78 +48,34 @@ import java.util.stream.Collectors;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final DashboardRepository dashboardRepository;
-
-    private static final BigDecimal TAX_RATE = new BigDecimal(0);
-    private static final BigDecimal SHIPPING_COST = new BigDecimal(0);
+    private final DashboardRollups dashboardRollups;
+    private final DashboardSnapshotCache dashboardSnapshotCache;
+    private final TopProductsTracker topProductsTracker;
+    private final OrderWriter orderWriter;
+    private final OrderIngestionQueue orderIngestionQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderEventPublisher orderEventPublisher;
+    private final OrderArchiver orderArchiver;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse createOrder(CreateOrderRequest request, String userEmail) {
-        var user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        var orderItems = new HashSet<OrderItem>();
-        var subtotal = BigDecimal.ZERO;
-
-        for (var itemRequest : request.getItems()) {
-            var product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + itemRequest.getProductId()));
-
-            if (!product.getIsActive()) {
-                throw new ValidationException("Medicine is not available: " + product.getName());
-            }
-            var unitPrice = product.getUnitPrice();
-
-            if (product.getQuantity() < itemRequest.getQuantity()) {
-                throw new ValidationException("Insufficient stock for product: " + product.getId() + " " + product.getName());
-            }
-
-            var itemTotal = unitPrice.multiply(new BigDecimal(itemRequest.getQuantity()));
-            subtotal = subtotal.add(itemTotal);
-
-            var orderItem = OrderItem.builder()
-                    .medicine(product)
-                    .quantity(itemRequest.getQuantity())
-                    .unitPrice(unitPrice)
-                    .subTotal(itemTotal)
-                    .build();
-
-            orderItems.add(orderItem);
-        }
-
-        var tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
-        var total = subtotal.add(tax).add(SHIPPING_COST);
-
-        var order = Order.builder()
-                .user(user)
-                .shippingAddress(request.getShippingAddress())
-                .paymentMethod(request.getPaymentMethod())
-                .phone(request.getPhone())
-                .status(OrderStatus.PENDING)
-                .paymentStatus(PaymentStatus.PENDING)
-                .trackingNumber(PaymentUtils.generateTransactionId(request.getPaymentMethod()))
-                .subtotal(subtotal)
-                .tax(tax)
-                .shipping(SHIPPING_COST)
-                .total(total)
-                .build();
-
-        orderItems.forEach(item -> item.setOrder(order));
-        order.setItems(orderItems);
+        var order = orderIngestionQueue.isEnabled()
+                ? orderIngestionQueue.submit(request, userEmail)
+                : transactionTemplate.execute(status -> orderWriter.place(request, userEmail));
 
-        var savedOrder = orderRepository.save(order);
-
-        for (var item : orderItems) {
-            if (item.getMedicine() != null) {
-                var p = item.getMedicine();
-                p.setQuantity(p.getQuantity() - item.getQuantity());
-                productRepository.save(p);
-            }
-        }
+        return mapToOrderResponse(order);
+    }
 
-        return mapToOrderResponse(savedOrder);
+    @Override
+    @Transactional(readOnly = true)
+    public OrderQuoteResponse quoteOrder(OrderQuoteRequest request, String userEmail) {
+        return orderWriter.quote(request.getItems(), userEmail);
     }
 
     @Override
@@ -115,11 +85,13 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         var pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        if (orderArchiver.coversUser(user.getId())) {
+            return findOrderHistory(user.getId(), null, null, null, pageable);
+        }
+
         var orderPage = orderRepository.findByUser(user, pageable);
 
-        var orderResponses = orderPage.getContent().stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        var orderResponses = mapToOrderResponses(orderPage.getContent());
 
         return PagedResponse.<OrderResponse>builder()
                 .content(orderResponses)
@@ -140,16 +112,143 @@ public class OrderServiceImpl implements OrderService {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        var order = loadOrderDetail(orderId);
 
-        if (!order.getUser().getId().equals(user.getId())) {
+        if (!order.getUserId().equals(user.getId())) {
             throw new ValidationException("You don't have permission to access this order");
         }
 
+        return order;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderDetailResponse getOrderDetail(Long orderId) {
+        return loadOrderDetail(orderId);
+    }
+
+    /**
+     * Loads the order with its user, items and products in one query and the
+     * products' image collections in a second one, falling back to the archive
+     * for orders that have been moved out of the hot tables.
+     */
+    private OrderDetailResponse loadOrderDetail(Long orderId) {
+        var hotOrder = orderRepository.findDetailById(orderId);
+        if (hotOrder.isEmpty()) {
+            return loadArchivedOrderDetail(orderId);
+        }
+
+        var order = hotOrder.get();
+        var products = order.getItems().stream()
+                .map(OrderItem::getMedicine)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!products.isEmpty()) {
+            productRepository.fetchImages(products);
+        }
         return mapToOrderDetailResponse(order);
     }
 
+    private OrderDetailResponse loadArchivedOrderDetail(Long orderId) {
+        var row = orderArchiveRepository.findArchivedOrder(orderId);
+        if (row == null) {
+            throw new ResourceNotFoundException("Order not found");
+        }
+
+        var itemRows = orderArchiveRepository.findArchivedItems(orderId);
+        var productIds = itemRows.stream().map(item -> ((Number) item[1]).longValue()).toList();
+        Map<Long, Set<String>> images = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            productRepository.findWithImagesByIdIn(productIds)
+                    .forEach(product -> images.put(product.getId(), new HashSet<>(product.getImages())));
+        }
+
+        var items = itemRows.stream()
+                .map(item -> OrderItemResponse.builder()
+                        .id(((Number) item[0]).longValue())
+                        .medicineId(((Number) item[1]).longValue())
+                        .medicineName((String) item[2])
+                        .medicineImages(images.getOrDefault(((Number) item[1]).longValue(), new HashSet<>()))
+                        .quantity(((Number) item[3]).intValue())
+                        .unitPrice((BigDecimal) item[4])
+                        .totalPrice((BigDecimal) item[5])
+                        .build())
+                .collect(Collectors.toList());
+
+        return OrderDetailResponse.builder()
+                .id(((Number) row[0]).longValue())
+                .userId(((Number) row[1]).longValue())
+                .userEmail((String) row[2])
+                .fullName((String) row[3])
+                .phone((String) row[4])
+                .shippingAddress((String) row[5])
+                .paymentMethod(toEnum(PaymentMethod.class, row[6]))
+                .status(toEnum(OrderStatus.class, row[7]))
+                .paymentStatus(toEnum(PaymentStatus.class, row[8]))
+                .subtotal((BigDecimal) row[9])
+                .tax((BigDecimal) row[10])
+                .shipping((BigDecimal) row[11])
+                .total((BigDecimal) row[12])
+                .shippingDate(toLocalDateTime(row[13]))
+                .deliveryDate(toLocalDateTime(row[14]))
+                .createdAt(toLocalDateTime(row[15]))
+                .updatedAt(toLocalDateTime(row[16]))
+                .items(items)
+                .build();
+    }
+
+    /**
+     * Order listing that spans the hot tables and the archive, used only when the
+     * requested filters reach back into archived history.
+     */
+    private PagedResponse<OrderResponse> findOrderHistory(Long userId, OrderStatus status, LocalDateTime startDate,
+                                                          LocalDateTime endDate, Pageable pageable) {
+        var rows = orderArchiveRepository.findOrderHistory(userId, status, startDate, endDate,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        var total = orderArchiveRepository.countOrderHistory(userId, status, startDate, endDate);
+
+        var orderIds = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        var itemCounts = countItems(orderIds);
+        if (!orderIds.isEmpty()) {
+            orderArchiveRepository.countArchivedItemsByOrderIds(orderIds)
+                    .forEach(row -> itemCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue()));
+        }
+
+        var orderResponses = rows.stream()
+                .map(row -> OrderResponse.builder()
+                        .id(((Number) row[0]).longValue())
+                        .userId(((Number) row[1]).longValue())
+                        .userEmail((String) row[2])
+                        .fullName((String) row[3])
+                        .phone((String) row[4])
+                        .shippingAddress((String) row[5])
+                        .paymentMethod(toEnum(PaymentMethod.class, row[6]))
+                        .status(toEnum(OrderStatus.class, row[7]))
+                        .paymentStatus(toEnum(PaymentStatus.class, row[8]))
+                        .subtotal((BigDecimal) row[9])
+                        .tax((BigDecimal) row[10])
+                        .shipping((BigDecimal) row[11])
+                        .total((BigDecimal) row[12])
+                        .itemCount(itemCounts.getOrDefault(((Number) row[0]).longValue(), 0))
+                        .createdAt(toLocalDateTime(row[13]))
+                        .updatedAt(toLocalDateTime(row[14]))
+                        .build())
+                .collect(Collectors.toList());
+
+        var orderPage = new PageImpl<>(orderResponses, pageable, total);
+        return PagedResponse.<OrderResponse>builder()
+                .content(orderResponses)
+                .page(orderPage.getNumber())
+                .size(orderPage.getSize())
+                .totalElements(orderPage.getTotalElements())
+                .totalPages(orderPage.getTotalPages())
+                .first(orderPage.isFirst())
+                .last(orderPage.isLast())
+                .hasNext(orderPage.hasNext())
+                .hasPrevious(orderPage.hasPrevious())
+                .build();
+    }
+
     @Override
     public void cancelOrder(Long orderId, String userEmail) {
         var user = userRepository.findByEmail(userEmail)
@@ -168,6 +267,7 @@ public class OrderServiceImpl implements OrderService {
 
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        orderEventPublisher.statusChanged(order, OrderStatus.PENDING);
 
         for (var item : order.getItems()) {
             if (item.getMedicine() != null) {
@@ -179,6 +279,36 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private OrderResponse mapToOrderResponse(Order order) {
+        return mapToOrderResponse(order, order.getItems().size());
+    }
+
+    /**
+     * Maps a page of orders whose user was fetched by join, resolving all item counts
+     * with one grouped query instead of initializing every items collection.
+     */
+    private List<OrderResponse> mapToOrderResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        var itemCounts = countItems(orders.stream().map(Order::getId).toList());
+        return orders.stream()
+                .map(order -> mapToOrderResponse(order, itemCounts.getOrDefault(order.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Integer> countItems(List<Long> orderIds) {
+        Map<Long, Integer> itemCounts = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return itemCounts;
+        }
+        for (var row : orderItemRepository.countItemsByOrderIds(orderIds)) {
+            itemCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        return itemCounts;
+    }
+
+    private OrderResponse mapToOrderResponse(Order order, int itemCount) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .userId(order.getUser().getId())
@@ -193,7 +323,7 @@ public class OrderServiceImpl implements OrderService {
                 .tax(order.getTax())
                 .shipping(order.getShipping())
                 .total(order.getTotal())
-                .itemCount(order.getItems().size())
+                .itemCount(itemCount)
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .build();
@@ -248,6 +378,9 @@ public class OrderServiceImpl implements OrderService {
     public PagedResponse<OrderResponse> getAllOrders(int page, int size, OrderStatus status,
                                                      LocalDateTime startDate, LocalDateTime endDate) {
         var pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        if (orderArchiver.covers(startDate, status)) {
+            return findOrderHistory(null, status, startDate, endDate, pageable);
+        }
 
         Specification<Order> spec = Specification.where(null);
 
@@ -268,9 +401,7 @@ public class OrderServiceImpl implements OrderService {
 
         var orderPage = orderRepository.findAll(spec, pageable);
 
-        var orderResponses = orderPage.getContent().stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        var orderResponses = mapToOrderResponses(orderPage.getContent());
 
         return PagedResponse.<OrderResponse>builder()
                 .content(orderResponses)
@@ -316,76 +447,106 @@ public class OrderServiceImpl implements OrderService {
 
         order.setStatus(newStatus);
         Order savedOrder = orderRepository.save(order);
+        orderEventPublisher.statusChanged(savedOrder, oldStatus);
         return mapToOrderResponse(savedOrder);
     }
 
+    /**
+     * Applies one target status to many orders. Current statuses are read under row
+     * locks and checked in memory, then each group of orders sharing a current status
+     * is moved with a single conditional UPDATE.
+     */
     @Override
-    @Transactional(readOnly = true)
-    public DashboardResponse getDashboardMetrics() {
-        var now = LocalDateTime.now();
-        var last30Days = now.minusDays(30);
-        var last12Months = now.minusMonths(12);
+    public BulkUpdateOrderStatusResponse bulkUpdateOrderStatus(BulkUpdateOrderStatusRequest request) {
+        var newStatus = request.getStatus();
+        var orderIds = new LinkedHashSet<>(request.getOrderIds());
 
-        var overview = dashboardRepository.getDashboardOverview();
+        Map<Long, Object[]> lockedOrders = new HashMap<>();
+        for (var row : orderRepository.lockStatusesByIdIn(orderIds)) {
+            lockedOrders.put(((Number) row[0]).longValue(), row);
+        }
 
-        var recentActivity = dashboardRepository.getRecentActivity(last30Days);
+        var failures = new ArrayList<BulkUpdateOrderStatusResponse.Failure>();
+        var unchanged = new ArrayList<Long>();
+        Map<OrderStatus, List<Long>> idsByCurrentStatus = new EnumMap<>(OrderStatus.class);
+
+        for (var orderId : orderIds) {
+            var row = lockedOrders.get(orderId);
+            var oldStatus = row != null ? OrderStatus.valueOf((String) row[1]) : null;
+            if (oldStatus == null) {
+                failures.add(new BulkUpdateOrderStatusResponse.Failure(orderId, "Order not found"));
+            } else if (oldStatus == newStatus) {
+                unchanged.add(orderId);
+            } else if (!isValidStatusTransition(oldStatus, newStatus)) {
+                failures.add(new BulkUpdateOrderStatusResponse.Failure(orderId,
+                        "Invalid status transition from " + oldStatus + " to " + newStatus));
+            } else {
+                idsByCurrentStatus.computeIfAbsent(oldStatus, status -> new ArrayList<>()).add(orderId);
+            }
+        }
 
-        var inventoryStatus = dashboardRepository.getInventoryStatus(10);
+        var now = LocalDateTime.now();
+        var updated = new ArrayList<Long>();
+        var changes = new ArrayList<OrderEventPublisher.StatusChange>();
+        idsByCurrentStatus.forEach((oldStatus, ids) -> {
+            orderRepository.updateStatus(ids, oldStatus, newStatus, now);
+            updated.addAll(ids);
+            for (var orderId : ids) {
+                var row = lockedOrders.get(orderId);
+                changes.add(new OrderEventPublisher.StatusChange(orderId, ((Number) row[2]).longValue(),
+                        (BigDecimal) row[3], toLocalDateTime(row[4]), oldStatus, newStatus));
+            }
+        });
+        orderEventPublisher.statusChanged(changes);
 
-        var customerAnalytics = dashboardRepository.getCustomerAnalytics();
+        if (!updated.isEmpty()) {
+            if (OrderStatus.SHIPPED.equals(newStatus)) {
+                orderRepository.markShipped(updated, now);
+            }
+            if (OrderStatus.DELIVERED.equals(newStatus)) {
+                orderRepository.markDelivered(updated, now);
+            }
+            if (OrderStatus.CANCELLED.equals(newStatus)) {
+                var productIds = orderItemRepository.findProductIdsByOrderIds(updated);
+                productRepository.restoreStockForOrders(updated);
+                eventPublisher.publishEvent(new ProductsChangedEvent(new HashSet<>(productIds)));
+            }
+        }
 
-        var topProductsData = dashboardRepository.getTopProductsByRevenue(5);
-        var topProducts = topProductsData.stream()
-                .map(data -> DashboardResponse.TopProductResponse.builder()
-                        .productId(((Number) data[0]).longValue())
-                        .productName((String) data[1])
-                        .totalRevenue(((Number) data[2]).doubleValue())
-                        .totalQuantitySold(((Number) data[3]).longValue())
-                        .orderCount(((Number) data[4]).longValue())
-                        .build())
-                .toList();
-
-        var monthlyGrowthData = dashboardRepository.getMonthlyGrowthTrends(last12Months, now);
-        var monthlyGrowth = monthlyGrowthData.stream()
-                .map(data -> DashboardResponse.MonthlyGrowthResponse.builder()
-                        .month((String) data[0])
-                        .orders(((Number) data[1]).longValue())
-                        .revenue(((Number) data[2]).doubleValue())
-                        .newCustomers(((Number) data[3]).longValue())
-                        .build())
-                .toList();
-
-        return DashboardResponse.builder()
-                .totalCustomers(((Number) overview[0]).longValue())
-                .totalProducts(((Number) overview[1]).longValue())
-                .totalOrders(((Number) overview[2]).longValue())
-                .completedOrders(((Number) overview[3]).longValue())
-                .totalRevenue(((Number) overview[4]).doubleValue())
-                .averageOrderValue(((Number) overview[5]).doubleValue())
-                .totalCategories(((Number) overview[6]).longValue())
-                .pendingOrders(((Number) overview[7]).longValue())
-
-                .recentOrders(((Number) recentActivity[0]).longValue())
-                .newCustomers(((Number) recentActivity[1]).longValue())
-                .newProducts(((Number) recentActivity[2]).longValue())
-                .recentPendingOrders(((Number) recentActivity[3]).longValue())
-
-                .productsInStock(((Number) inventoryStatus[1]).longValue())
-                .outOfStockProducts(((Number) inventoryStatus[2]).longValue())
-                .lowStockProducts(((Number) inventoryStatus[3]).longValue())
-                .totalInventoryUnits(((Number) inventoryStatus[4]).longValue())
-
-                .customersWithOrders(((Number) customerAnalytics[1]).longValue())
-                .averageOrdersPerCustomer(((Number) customerAnalytics[2]).doubleValue())
-                .averageSpentPerCustomer(((Number) customerAnalytics[3]).doubleValue())
-
-                .topProducts(topProducts)
-                .monthlyGrowth(monthlyGrowth)
-
-                .generatedAt(now)
+        return BulkUpdateOrderStatusResponse.builder()
+                .status(newStatus)
+                .requested(orderIds.size())
+                .updatedOrderIds(updated)
+                .unchangedOrderIds(unchanged)
+                .failures(failures)
                 .build();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DashboardResponse getDashboardMetrics() {
+        return dashboardSnapshotCache.get();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildDashboardRollups() {
+        dashboardRollups.rebuild();
+        topProductsTracker.rebuild();
+        dashboardSnapshotCache.invalidate();
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private <E extends Enum<E>> E toEnum(Class<E> type, Object value) {
+        return value != null ? Enum.valueOf(type, value.toString()) : null;
+    }
+
     private boolean isValidStatusTransition(OrderStatus from, OrderStatus to) {
         if (from == to) {
             return true;
@@ -0,0 +1,314 @@
+package com.be.service.impl;
+
+import com.be.dto.cart.CartLineResponse;
+import com.be.dto.order.CreateOrderItemRequest;
+import com.be.dto.order.CreateOrderRequest;
+import com.be.dto.order.OrderQuoteResponse;
+import com.be.entity.Order;
+import com.be.entity.OrderItem;
+import com.be.entity.OrderStatus;
+import com.be.entity.PaymentStatus;
+import com.be.entity.Product;
+import com.be.entity.User;
+import com.be.event.OrderEventPublisher;
+import com.be.event.ProductsChangedEvent;
+import com.be.exception.ResourceNotFoundException;
+import com.be.exception.ValidationException;
+import com.be.repository.OrderRepository;
+import com.be.repository.ProductRepository;
+import com.be.repository.UserRepository;
+import com.be.service.CartService;
+import com.be.util.PaymentUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds and stores new orders. Runs inside the caller's transaction so that the
+ * same logic serves both the per-request path and the group-commit writer.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderWriter {
+
+    static final BigDecimal TAX_RATE = new BigDecimal(0);
+    static final BigDecimal SHIPPING_COST = new BigDecimal(0);
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final CartService cartService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderQuoteSigner quoteSigner;
+
+    /**
+     * An order ready to be stored, plus the cart it was checked out from (if any).
+     */
+    public record PreparedOrder(Order order, Long cartId) {
+    }
+
+    public Order place(CreateOrderRequest request, String userEmail) {
+        return persist(prepare(request, userEmail));
+    }
+
+    /**
+     * Validates the request and builds an unsaved order. Performs reads only, so a
+     * {@link ValidationException} or {@link ResourceNotFoundException} thrown here
+     * leaves the surrounding transaction untouched.
+     */
+    public PreparedOrder prepare(CreateOrderRequest request, String userEmail) {
+        var user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (request.getCartId() != null) {
+            return new PreparedOrder(prepareFromCart(request, user), request.getCartId());
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new ValidationException("Order items cannot be empty");
+        }
+        if (request.getQuoteToken() != null) {
+            var quote = quoteSigner.verify(request.getQuoteToken(), userEmail)
+                    .filter(q -> matches(q, request.getItems()));
+            if (quote.isPresent()) {
+                return new PreparedOrder(prepareFromQuote(request, user, quote.get()), null);
+            }
+        }
+
+        var orderItems = new HashSet<OrderItem>();
+        var subtotal = BigDecimal.ZERO;
+
+        for (var itemRequest : request.getItems()) {
+            var product = productRepository.findById(itemRequest.getProductId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + itemRequest.getProductId()));
+
+            var reason = unavailableReason(product, itemRequest.getQuantity());
+            if (reason != null) {
+                throw new ValidationException(reason);
+            }
+            var unitPrice = product.getUnitPrice();
+
+            var itemTotal = unitPrice.multiply(new BigDecimal(itemRequest.getQuantity()));
+            subtotal = subtotal.add(itemTotal);
+
+            var orderItem = OrderItem.builder()
+                    .medicine(product)
+                    .quantity(itemRequest.getQuantity())
+                    .unitPrice(unitPrice)
+                    .subTotal(itemTotal)
+                    .build();
+
+            orderItems.add(orderItem);
+        }
+
+        return new PreparedOrder(buildOrder(request, user, orderItems, subtotal), null);
+    }
+
+    /**
+     * Builds the order from the cart's summary, which checkout prices from one fresh
+     * product read rather than from the cache; stock is re-checked atomically when
+     * {@link #persist} decrements it.
+     */
+    private Order prepareFromCart(CreateOrderRequest request, User user) {
+        var summary = cartService.getCheckoutSummary(request.getCartId(), user.getId());
+        if (summary.getLines().isEmpty()) {
+            throw new ValidationException("Cart is empty");
+        }
+        if (!summary.isValid()) {
+            throw new ValidationException(summary.getLines().stream()
+                    .filter(line -> !line.isAvailable())
+                    .map(CartLineResponse::getMessage)
+                    .findFirst()
+                    .orElse("Cart cannot be ordered"));
+        }
+
+        var orderItems = new HashSet<OrderItem>();
+        for (var line : summary.getLines()) {
+            orderItems.add(OrderItem.builder()
+                    .medicine(productRepository.getReferenceById(line.getProductId()))
+                    .quantity(line.getQuantity())
+                    .unitPrice(line.getUnitPrice())
+                    .subTotal(line.getLineTotal())
+                    .build());
+        }
+        return buildOrder(request, user, orderItems, summary.getSubtotal());
+    }
+
+    /**
+     * Builds the order from a verified quote without reading the products again; as for
+     * carts, availability is re-checked by the conditional stock update in {@link #persist}.
+     */
+    private Order prepareFromQuote(CreateOrderRequest request, User user, OrderQuoteSigner.Quote quote) {
+        var orderItems = new HashSet<OrderItem>();
+        var subtotal = BigDecimal.ZERO;
+        for (var line : quote.lines()) {
+            var itemTotal = line.unitPrice().multiply(new BigDecimal(line.quantity()));
+            subtotal = subtotal.add(itemTotal);
+            orderItems.add(OrderItem.builder()
+                    .medicine(productRepository.getReferenceById(line.productId()))
+                    .quantity(line.quantity())
+                    .unitPrice(line.unitPrice())
+                    .subTotal(itemTotal)
+                    .build());
+        }
+        return buildOrder(request, user, orderItems, subtotal);
+    }
+
+    /**
+     * Prices and stock-checks the items with one product query, without writing. A
+     * signed quote token is issued only when every line can be ordered.
+     */
+    public OrderQuoteResponse quote(List<CreateOrderItemRequest> items, String userEmail) {
+        var productIds = items.stream().map(CreateOrderItemRequest::getProductId).distinct().toList();
+        var products = productRepository.findAllByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        var lines = new ArrayList<OrderQuoteResponse.Line>(items.size());
+        var quotedLines = new ArrayList<OrderQuoteSigner.QuotedLine>(items.size());
+        var subtotal = BigDecimal.ZERO;
+        for (var item : items) {
+            var product = products.get(item.getProductId());
+            if (product == null) {
+                lines.add(OrderQuoteResponse.Line.builder()
+                        .productId(item.getProductId())
+                        .quantity(item.getQuantity())
+                        .available(false)
+                        .message("Product not found: " + item.getProductId())
+                        .build());
+                continue;
+            }
+
+            var lineTotal = product.getUnitPrice().multiply(new BigDecimal(item.getQuantity()));
+            subtotal = subtotal.add(lineTotal);
+            var reason = unavailableReason(product, item.getQuantity());
+            lines.add(OrderQuoteResponse.Line.builder()
+                    .productId(product.getId())
+                    .name(product.getName())
+                    .unitPrice(product.getUnitPrice())
+                    .quantity(item.getQuantity())
+                    .stock(product.getQuantity())
+                    .lineTotal(lineTotal)
+                    .available(reason == null)
+                    .message(reason)
+                    .build());
+            quotedLines.add(new OrderQuoteSigner.QuotedLine(product.getId(), item.getQuantity(), product.getUnitPrice()));
+        }
+
+        var tax = taxOn(subtotal);
+        var response = OrderQuoteResponse.builder()
+                .lines(lines)
+                .subtotal(subtotal)
+                .tax(tax)
+                .shipping(SHIPPING_COST)
+                .total(subtotal.add(tax).add(SHIPPING_COST))
+                .valid(lines.stream().allMatch(OrderQuoteResponse.Line::isAvailable))
+                .build();
+
+        if (response.isValid()) {
+            var quote = quoteSigner.newQuote(userEmail, quotedLines);
+            response.setQuoteToken(quoteSigner.sign(quote));
+            response.setExpiresAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(quote.expiresAt()), ZoneId.systemDefault()));
+        }
+        return response;
+    }
+
+    /**
+     * Returns why {@code quantity} units of the product cannot be ordered, or {@code null}.
+     */
+    static String unavailableReason(Product product, int quantity) {
+        if (!product.getIsActive()) {
+            return "Medicine is not available: " + product.getName();
+        }
+        if (product.getQuantity() < quantity) {
+            return "Insufficient stock for product: " + product.getId() + " " + product.getName();
+        }
+        return null;
+    }
+
+    static BigDecimal taxOn(BigDecimal subtotal) {
+        return subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static boolean matches(OrderQuoteSigner.Quote quote, List<CreateOrderItemRequest> items) {
+        if (quote.lines().size() != items.size()) {
+            return false;
+        }
+        for (var i = 0; i < items.size(); i++) {
+            var line = quote.lines().get(i);
+            var item = items.get(i);
+            if (!line.productId().equals(item.getProductId()) || line.quantity() != item.getQuantity()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Order buildOrder(CreateOrderRequest request, User user, Set<OrderItem> orderItems, BigDecimal subtotal) {
+        var tax = taxOn(subtotal);
+        var total = subtotal.add(tax).add(SHIPPING_COST);
+
+        var order = Order.builder()
+                .user(user)
+                .shippingAddress(request.getShippingAddress())
+                .paymentMethod(request.getPaymentMethod())
+                .phone(request.getPhone())
+                .status(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .trackingNumber(PaymentUtils.generateTransactionId(request.getPaymentMethod()))
+                .subtotal(subtotal)
+                .tax(tax)
+                .shipping(SHIPPING_COST)
+                .total(total)
+                .build();
+
+        orderItems.forEach(item -> item.setOrder(order));
+        order.setItems(orderItems);
+        return order;
+    }
+
+    /**
+     * Stores the order and takes its stock with a conditional update per line, which
+     * fails the order with a {@link ValidationException} if the stock ran out since
+     * the cart was priced. Products loaded during {@link #prepare} are not written
+     * back: their quantity may be stale by now. Callers must roll back on any
+     * exception thrown here.
+     */
+    public Order persist(PreparedOrder prepared) {
+        var savedOrder = orderRepository.save(prepared.order());
+
+        var decremented = new HashSet<Long>();
+        for (var item : savedOrder.getItems()) {
+            var p = item.getMedicine();
+            if (p == null) {
+                continue;
+            }
+            if (productRepository.decrementStock(p.getId(), item.getQuantity()) == 0) {
+                throw new ValidationException("Insufficient stock or product unavailable: " + p.getId());
+            }
+            decremented.add(p.getId());
+        }
+        if (!decremented.isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(decremented));
+        }
+        if (prepared.cartId() != null) {
+            cartService.clearAfterCheckout(prepared.cartId());
+        }
+
+        orderEventPublisher.orderCreated(savedOrder);
+        return savedOrder;
+    }
+}
@@ -7,6 +7,7 @@ import com.be.entity.Order;
 import com.be.entity.OrderStatus;
 import com.be.entity.PaymentMethod;
 import com.be.entity.PaymentStatus;
+import com.be.event.OrderEventPublisher;
 import com.be.exception.PaymentException;
 import com.be.exception.ResourceNotFoundException;
 import com.be.repository.OrderRepository;
@@ -15,6 +16,7 @@ import com.be.util.PaymentUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -25,6 +27,7 @@ import java.util.HashMap;
 public class PaymentServiceImpl implements PaymentService {
     private final OrderRepository orderRepository;
     private final PaymentConfig.VNPayConfig vnPayConfig;
+    private final OrderEventPublisher orderEventPublisher;
 
     public String getSerectKey() {
         return vnPayConfig.getHashSecret();
@@ -52,21 +55,24 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional
     public void updatePayment(String txnRef, OrderStatus status) {
         var o = orderRepository.findByTrackingNumber(txnRef);
-        o.ifPresent(order -> {
-            order.setStatus(status);
-            orderRepository.save(order);
-        });
+        o.ifPresent(order -> changeStatus(order, status));
     }
 
     @Override
+    @Transactional
     public void updatePayment(Long id, OrderStatus status) {
         var o = orderRepository.findById(id);
-        o.ifPresent(order -> {
-            order.setStatus(status);
-            orderRepository.save(order);
-        });
+        o.ifPresent(order -> changeStatus(order, status));
+    }
+
+    private void changeStatus(Order order, OrderStatus status) {
+        var oldStatus = order.getStatus();
+        order.setStatus(status);
+        orderRepository.save(order);
+        orderEventPublisher.statusChanged(order, oldStatus);
     }
 
     private PaymentResponse processVNPayPayment(PaymentRequest request, Order order) {
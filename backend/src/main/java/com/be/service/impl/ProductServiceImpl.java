@@ -138,6 +138,7 @@ public class ProductServiceImpl implements ProductService {
                 .description(request.getDescription())
                 .unitPrice(request.getPrice())
                 .quantity(request.getStock())
+                .lowStockThreshold(request.getLowStockThreshold())
                 .category(category)
                 .images(new HashSet<>(request.getImages()))
                 .isActive(true)
@@ -160,6 +161,7 @@ public class ProductServiceImpl implements ProductService {
         product.setDescription(request.getDescription());
         product.setUnitPrice(request.getPrice());
         product.setQuantity(request.getStock());
+        product.setLowStockThreshold(request.getLowStockThreshold());
         product.setCategory(category);
         product.setImages(request.getImages() != null ? new HashSet<>(request.getImages()) : new HashSet<>());
 
@@ -252,6 +254,7 @@ public class ProductServiceImpl implements ProductService {
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .stock(product.getQuantity())
+                .lowStockThreshold(product.getLowStockThreshold())
                 .build();
     }
 
@@ -267,6 +270,7 @@ public class ProductServiceImpl implements ProductService {
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
                 .stock(product.getQuantity())
+                .lowStockThreshold(product.getLowStockThreshold())
                 .build();
     }
 
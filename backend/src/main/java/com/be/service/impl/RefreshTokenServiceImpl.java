@@ -0,0 +1,117 @@
+package com.be.service.impl;
+
+import com.be.entity.RefreshToken;
+import com.be.exception.UnauthorizedException;
+import com.be.repository.RefreshTokenRepository;
+import com.be.security.JwtUtil;
+import com.be.security.UserPrincipal;
+import com.be.security.VerifiedToken;
+import com.be.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh tokens with rotation: every refresh revokes the presented token and issues a
+ * successor in the same family. A revoked token coming back means it was copied, so
+ * its whole family is revoked. Replays are rejected from memory by
+ * {@link RevokedRefreshTokens} before any query runs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedRefreshTokens revokedRefreshTokens;
+    private final JwtUtil jwtUtil;
+
+    @Override
+    @Transactional
+    public String issue(UserPrincipal principal) {
+        return create(principal, UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public String rotate(VerifiedToken token, UserPrincipal principal) {
+        if (token.tokenId() == null || token.familyId() == null) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        var successorId = UUID.randomUUID().toString();
+        if (revokedRefreshTokens.isRevoked(token.tokenId())
+                || refreshTokenRepository.rotate(token.tokenId(), successorId, LocalDateTime.now()) == 0) {
+            log.warn("Refresh token {} of user {} was reused, revoking family {}",
+                    token.tokenId(), principal.getId(), token.familyId());
+            revokeFamily(token);
+            throw new UnauthorizedException("Refresh token has already been used");
+        }
+        revokeAfterCommit(List.of(token.tokenId()), LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault()));
+        return create(principal, token.familyId(), successorId);
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(VerifiedToken token) {
+        if (token.familyId() == null) {
+            return;
+        }
+        revoke(refreshTokenRepository.findActiveIdsByFamilyId(token.familyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(Long userId) {
+        revoke(refreshTokenRepository.findActiveIdsByUserId(userId));
+    }
+
+    @Scheduled(cron = "${auth.refresh-tokens.cleanup-cron:0 30 4 * * *}")
+    @Transactional
+    public void deleteExpired() {
+        var deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("Deleted {} expired refresh tokens", deleted);
+    }
+
+    private String create(UserPrincipal principal, String familyId) {
+        return create(principal, familyId, UUID.randomUUID().toString());
+    }
+
+    private String create(UserPrincipal principal, String familyId, String tokenId) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .id(tokenId)
+                .familyId(familyId)
+                .userId(principal.getId())
+                .expiresAt(LocalDateTime.now().plus(jwtUtil.getRefreshTokenLifetime()))
+                .build());
+        return jwtUtil.generateRefreshToken(principal, tokenId, familyId);
+    }
+
+    private void revoke(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        refreshTokenRepository.revokeByIdIn(ids, LocalDateTime.now());
+        // no token outlives this, so it bounds how long the ids are kept; the next sync
+        // replaces it with each token's stored expiry
+        revokeAfterCommit(ids, LocalDateTime.now().plus(jwtUtil.getRefreshTokenLifetime()));
+    }
+
+    private void revokeAfterCommit(List<String> ids, LocalDateTime expiresAt) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(id -> revokedRefreshTokens.add(id, expiresAt));
+            }
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.be.service.impl;
+
+import com.be.repository.RefreshTokenRepository;
+import com.be.security.JwtUtil;
+import com.be.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of the revoked, unexpired refresh token ids, so a replayed token is
+ * turned away without a query. A Bloom filter answers the common "not revoked" case;
+ * only its hits are confirmed against the exact set.
+ * <p>
+ * Local revocations are added once they commit, and revocations made by other
+ * instances are picked up on every sync. The conditional update in
+ * {@code RefreshTokenRepository#rotate} remains the authority, so a revocation not yet
+ * synced is still caught when the token is rotated.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevokedRefreshTokens {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+    // re-reads revocations that were still committing during the previous sync
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+
+    // token id -> expiry, after which the token is rejected anyway
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+    private int bloomCapacity = MIN_CAPACITY;
+    // ids put into the current filter, expired ones included
+    private int bloomInserts;
+    private LocalDateTime syncedAt;
+
+    @PostConstruct
+    public void load() {
+        syncedAt = LocalDateTime.now().minus(jwtUtil.getRefreshTokenLifetime());
+        sync();
+        log.info("Loaded {} revoked refresh tokens", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return bloom.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public synchronized void add(String tokenId, LocalDateTime expiresAt) {
+        if (revoked.put(tokenId, expiresAt) == null) {
+            bloom.put(tokenId);
+            bloomInserts++;
+        }
+    }
+
+    /**
+     * Adds revocations committed since the last sync and drops expired tokens.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-tokens.sync-ms:30000}")
+    public void sync() {
+        var now = LocalDateTime.now();
+        var rows = refreshTokenRepository.findRevokedSince(syncedAt.minus(SYNC_OVERLAP), now);
+        synchronized (this) {
+            for (var row : rows) {
+                add((String) row[0], (LocalDateTime) row[2]);
+            }
+            revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+            // Bloom filters cannot forget, and overfilled ones lose their precision, so
+            // rebuild once the filter is over capacity or mostly holds expired ids
+            if (bloomInserts > bloomCapacity || bloomInserts > Math.max(MIN_CAPACITY, revoked.size() * 2)) {
+                bloomCapacity = Math.max(MIN_CAPACITY, revoked.size() * 2);
+                var rebuilt = new BloomFilter(bloomCapacity, FALSE_POSITIVE_RATE);
+                revoked.keySet().forEach(rebuilt::put);
+                bloom = rebuilt;
+                bloomInserts = revoked.size();
+            }
+        }
+        syncedAt = now;
+    }
+}
@@ -0,0 +1,203 @@
+package com.be.service.impl;
+
+import com.be.config.DashboardConfig;
+import com.be.dto.admin.DashboardResponse;
+import com.be.entity.OrderEvent;
+import com.be.entity.OrderEventType;
+import com.be.entity.OrderStatus;
+import com.be.event.OrderEventDispatcher;
+import com.be.event.OrderEventListener;
+import com.be.exception.ValidationException;
+import com.be.repository.DashboardRollupRepository;
+import com.be.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * All-time delivered sales per product, kept in memory and ordered by revenue so the
+ * top N products are read off the head of a sorted set.
+ * <p>
+ * On startup the totals are loaded from the product rollups together with the rollup
+ * listener's checkpoint, and from there this listener follows the outbox on its own:
+ * an order entering DELIVERED adds its items, one leaving it (a cancellation after
+ * delivery) removes them. Changes are applied after the delivery commits, so a
+ * redelivered batch is not counted twice. The totals live in this process, so the
+ * checkpoint is per instance and every instance applies every event.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopProductsTracker implements OrderEventListener {
+
+    static final String CONSUMER = "top-products";
+
+    private static final Comparator<Sales> BY_REVENUE = Comparator.comparing(Sales::revenue).reversed()
+            .thenComparing(Sales::productId);
+
+    private final DashboardRollupRepository rollupRepository;
+    private final ProductRepository productRepository;
+    private final OrderEventDispatcher orderEventDispatcher;
+    private final DashboardRollups dashboardRollups;
+    private final DashboardConfig.TopProductsProperties properties;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Sales> byProduct = new HashMap<>();
+    private TreeSet<Sales> ranking = new TreeSet<>(BY_REVENUE);
+    // bumped by every reload; changes read before a reload are already part of it or redelivered after it
+    private volatile long epoch;
+
+    private record Sales(Long productId, BigDecimal revenue, long units, long orders) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        // the totals are read from the rollups, so they must exist first
+        dashboardRollups.backfillIfMissing();
+        rebuild();
+    }
+
+    @Override
+    public String getName() {
+        return orderEventDispatcher.instanceConsumer(CONSUMER);
+    }
+
+    @Override
+    public void onEvent(OrderEvent event) {
+        if (event.getType() == OrderEventType.ORDER_CREATED) {
+            return;
+        }
+        var sign = OrderStatus.DELIVERED.equals(event.getToStatus()) ? 1
+                : OrderStatus.DELIVERED.equals(event.getFromStatus()) ? -1 : 0;
+        if (sign == 0) {
+            return;
+        }
+
+        var items = rollupRepository.getOrderProductSales(event.getOrderId());
+        var readEpoch = epoch;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(items, sign, readEpoch);
+            }
+        });
+    }
+
+    /**
+     * Reloads the totals from the product rollups; nightly as well, so instances pick up
+     * a rollup rebuild run on another instance.
+     */
+    @Scheduled(cron = "${dashboard.top-products.reload-cron:0 45 4 * * *}")
+    public void rebuild() {
+        var startedAt = System.currentTimeMillis();
+        orderEventDispatcher.rebuildFrom(getName(), DashboardRollups.CONSUMER, () -> {
+            var loadedByProduct = new HashMap<Long, Sales>();
+            for (var row : rollupRepository.getProductSalesTotals()) {
+                var sales = new Sales(((Number) row[0]).longValue(), (BigDecimal) row[1],
+                        ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+                loadedByProduct.put(sales.productId(), sales);
+            }
+            var loadedRanking = new TreeSet<>(BY_REVENUE);
+            loadedRanking.addAll(loadedByProduct.values());
+
+            // swapped under the checkpoint lock, so no delivery interleaves with the reload
+            lock.writeLock().lock();
+            try {
+                byProduct = loadedByProduct;
+                ranking = loadedRanking;
+                epoch++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+        log.info("Loaded top products tracker in {} ms", System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * The {@code limit} active products with the highest delivered revenue.
+     */
+    public List<DashboardResponse.TopProductResponse> top(int limit) {
+        if (limit < 1 || limit > properties.getMaxLimit()) {
+            throw new ValidationException("limit must be between 1 and " + properties.getMaxLimit());
+        }
+
+        var result = new ArrayList<DashboardResponse.TopProductResponse>(limit);
+        var skip = 0;
+        // inactive products are filtered out by the name lookup, so read a little ahead
+        while (result.size() < limit) {
+            var candidates = head(skip, (limit - result.size()) * 2);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            skip += candidates.size();
+
+            var names = productRepository.findActiveNamesByIdIn(candidates.stream().map(Sales::productId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(row -> (Long) row[0], row -> (String) row[1]));
+            for (var sales : candidates) {
+                var name = names.get(sales.productId());
+                if (name != null && result.size() < limit) {
+                    result.add(DashboardResponse.TopProductResponse.builder()
+                            .productId(sales.productId())
+                            .productName(name)
+                            .totalRevenue(sales.revenue().doubleValue())
+                            .totalQuantitySold(sales.units())
+                            .orderCount(sales.orders())
+                            .build());
+                }
+            }
+        }
+        return result;
+    }
+
+    private List<Sales> head(int skip, int count) {
+        lock.readLock().lock();
+        try {
+            return ranking.stream().skip(skip).limit(count).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(List<Object[]> items, int sign, long readEpoch) {
+        var changes = items.stream().collect(Collectors.toMap(row -> ((Number) row[0]).longValue(), Function.identity()));
+        lock.writeLock().lock();
+        try {
+            if (epoch != readEpoch) {
+                return;
+            }
+            changes.forEach((productId, row) -> {
+                var current = byProduct.getOrDefault(productId, new Sales(productId, BigDecimal.ZERO, 0, 0));
+                var updated = new Sales(productId,
+                        current.revenue().add(((BigDecimal) row[2]).multiply(BigDecimal.valueOf(sign))),
+                        current.units() + sign * ((Number) row[1]).longValue(),
+                        current.orders() + sign);
+                ranking.remove(current);
+                if (updated.orders() > 0) {
+                    byProduct.put(productId, updated);
+                    ranking.add(updated);
+                } else {
+                    byProduct.remove(productId);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.be.service.impl;
+
+import com.be.dto.admin.UniqueCountResponse;
+import com.be.dto.admin.UniqueMetric;
+import com.be.entity.OrderEvent;
+import com.be.entity.OrderEventType;
+import com.be.event.OrderEventDispatcher;
+import com.be.event.OrderEventListener;
+import com.be.exception.ValidationException;
+import com.be.repository.EventCheckpointRepository;
+import com.be.repository.HllSketchRepository;
+import com.be.service.UniqueCountService;
+import com.be.util.HyperLogLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Approximate distinct counts (unique product visitors, unique category buyers) kept
+ * as one HyperLogLog sketch per metric, key and day.
+ * <p>
+ * Buyers are merged into the stored sketches inside the outbox delivery transaction,
+ * so they commit together with the checkpoint. Visitors are collected in memory and
+ * merged on every flush; a crash loses at most one flush interval of visits. Stored
+ * sketches are merged under a row lock, so instances flushing the same key do not
+ * overwrite each other. Adding a value twice or merging a sketch twice changes nothing,
+ * so repeated flushes and redelivered order events are harmless, and a range is
+ * answered by merging its stored days with whatever has not been flushed yet. Buyers
+ * are the customers who created an order, including orders cancelled later.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UniqueCountServiceImpl implements UniqueCountService, OrderEventListener {
+
+    static final String CONSUMER = "unique-buyers";
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final HllSketchRepository sketchRepository;
+    private final EventCheckpointRepository checkpointRepository;
+    private final OrderEventDispatcher orderEventDispatcher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SketchKey, Sketch> sketches = new ConcurrentHashMap<>();
+
+    private record SketchKey(UniqueMetric metric, long key, LocalDate day) {
+    }
+
+    private static final Comparator<SketchKey> KEY_ORDER = Comparator.comparing(SketchKey::metric)
+            .thenComparingLong(SketchKey::key)
+            .thenComparing(SketchKey::day);
+
+    private static final class Sketch {
+        private final HyperLogLog hll = new HyperLogLog();
+        private boolean dirty;
+        private boolean evicted;
+    }
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate.executeWithoutResult(status -> sketchRepository.createSketchTable());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfMissing() {
+        if (!checkpointRepository.existsById(CONSUMER)) {
+            rebuildCategoryBuyers();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return CONSUMER;
+    }
+
+    @Override
+    public void onEvent(OrderEvent event) {
+        if (event.getType() != OrderEventType.ORDER_CREATED || event.getUserId() == null) {
+            return;
+        }
+        var createdAt = event.getOrderCreatedAt() != null ? event.getOrderCreatedAt() : event.getOccurredAt();
+        var rows = new ArrayList<Object[]>();
+        // runs in the delivery transaction, so the buyer commits with the checkpoint
+        for (var categoryId : sketchRepository.findCategoryIdsByOrderId(event.getOrderId()).stream().sorted().toList()) {
+            var key = new SketchKey(UniqueMetric.CATEGORY_BUYERS, categoryId, createdAt.toLocalDate());
+            var hll = HyperLogLog.fromBytes(sketchRepository.lockSketch(key.metric(), key.key(), key.day()));
+            hll.addLong(event.getUserId());
+            rows.add(toRow(key, hll));
+        }
+        sketchRepository.saveSketches(rows);
+    }
+
+    @Override
+    public void recordProductVisit(Long productId, String visitor) {
+        add(new SketchKey(UniqueMetric.PRODUCT_VISITORS, productId, LocalDate.now()), hll -> hll.addString(visitor));
+    }
+
+    @Override
+    public UniqueCountResponse getUniqueProductVisitors(Long productId, LocalDate from, LocalDate to) {
+        var end = to != null ? to : LocalDate.now();
+        return count(UniqueMetric.PRODUCT_VISITORS, productId, from != null ? from : end.minusDays(29), end);
+    }
+
+    @Override
+    public UniqueCountResponse getUniqueCategoryBuyers(Long categoryId, LocalDate from, LocalDate to) {
+        var end = to != null ? to : LocalDate.now();
+        return count(UniqueMetric.CATEGORY_BUYERS, categoryId, from != null ? from : end.withDayOfMonth(1), end);
+    }
+
+    /**
+     * Merges unflushed sketches into the stored ones, then drops clean sketches of past
+     * days from memory.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.unique-counts.flush-ms:60000}")
+    public synchronized void flush() {
+        var dirty = new HashMap<SketchKey, HyperLogLog>();
+        sketches.forEach((key, sketch) -> {
+            synchronized (sketch) {
+                if (sketch.dirty) {
+                    var copy = new HyperLogLog();
+                    copy.merge(sketch.hll);
+                    dirty.put(key, copy);
+                    sketch.dirty = false;
+                }
+            }
+        });
+
+        if (!dirty.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    var rows = new ArrayList<Object[]>(dirty.size());
+                    // locked in key order, so instances flushing the same keys do not deadlock
+                    dirty.entrySet().stream().sorted(Map.Entry.comparingByKey(KEY_ORDER)).forEach(entry -> {
+                        var key = entry.getKey();
+                        var hll = entry.getValue();
+                        hll.merge(HyperLogLog.fromBytes(sketchRepository.lockSketch(key.metric(), key.key(), key.day())));
+                        rows.add(toRow(key, hll));
+                    });
+                    sketchRepository.saveSketches(rows);
+                });
+            } catch (Exception e) {
+                log.error("Flushing {} unique count sketches failed: {}", dirty.size(), e.getMessage(), e);
+                dirty.keySet().forEach(key -> {
+                    var sketch = sketches.get(key);
+                    if (sketch != null) {
+                        synchronized (sketch) {
+                            sketch.dirty = true;
+                        }
+                    }
+                });
+                return;
+            }
+        }
+
+        var yesterday = LocalDate.now().minusDays(1);
+        sketches.entrySet().removeIf(entry -> {
+            synchronized (entry.getValue()) {
+                var sketch = entry.getValue();
+                sketch.evicted = !sketch.dirty && entry.getKey().day().isBefore(yesterday);
+                return sketch.evicted;
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Recomputes the category buyer sketches from hot and archived orders, one month at
+     * a time so memory stays bounded.
+     */
+    public void rebuildCategoryBuyers() {
+        var startedAt = System.currentTimeMillis();
+        orderEventDispatcher.rebuild(CONSUMER, () -> {
+            sketchRepository.deleteSketches(UniqueMetric.CATEGORY_BUYERS);
+            var today = LocalDate.now();
+            for (var month = sketchRepository.findFirstOrderDay().withDayOfMonth(1); !month.isAfter(today);
+                 month = month.plusMonths(1)) {
+                var monthSketches = new HashMap<SketchKey, HyperLogLog>();
+                for (var row : sketchRepository.findCategoryBuyers(month, month.plusMonths(1))) {
+                    var day = row[1] instanceof Date date ? date.toLocalDate() : (LocalDate) row[1];
+                    monthSketches.computeIfAbsent(
+                                    new SketchKey(UniqueMetric.CATEGORY_BUYERS, ((Number) row[0]).longValue(), day),
+                                    key -> new HyperLogLog())
+                            .addLong(((Number) row[2]).longValue());
+                }
+                var rows = new ArrayList<Object[]>(monthSketches.size());
+                monthSketches.forEach((key, hll) -> rows.add(toRow(key, hll)));
+                sketchRepository.saveSketches(rows);
+            }
+        });
+        log.info("Rebuilt category buyer sketches in {} ms", System.currentTimeMillis() - startedAt);
+    }
+
+    private static Object[] toRow(SketchKey key, HyperLogLog hll) {
+        return new Object[]{key.metric().name(), key.key(), Date.valueOf(key.day()), hll.toBytes()};
+    }
+
+    private void add(SketchKey key, Consumer<HyperLogLog> update) {
+        while (true) {
+            var sketch = sketches.computeIfAbsent(key, k -> new Sketch());
+            synchronized (sketch) {
+                // an evicted sketch is no longer flushed; retry with a fresh one
+                if (!sketch.evicted) {
+                    update.accept(sketch.hll);
+                    sketch.dirty = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    private UniqueCountResponse count(UniqueMetric metric, Long key, LocalDate from, LocalDate to) {
+        if (key == null) {
+            throw new ValidationException("A " + (metric == UniqueMetric.PRODUCT_VISITORS ? "productId" : "categoryId")
+                    + " is required");
+        }
+        if (from.isAfter(to)) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ValidationException("Range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+
+        var union = new HyperLogLog();
+        for (var row : sketchRepository.findSketches(metric, key, from, to)) {
+            union.merge(HyperLogLog.fromBytes((byte[]) row[1]));
+        }
+        for (var day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            var sketch = sketches.get(new SketchKey(metric, key, day));
+            if (sketch != null) {
+                synchronized (sketch) {
+                    union.merge(sketch.hll);
+                }
+            }
+        }
+
+        var estimate = union.estimate();
+        var margin = Math.round(2 * HyperLogLog.RELATIVE_STANDARD_ERROR * estimate);
+        return UniqueCountResponse.builder()
+                .metric(metric)
+                .key(key)
+                .from(from)
+                .to(to)
+                .estimate(estimate)
+                .relativeStandardError(HyperLogLog.RELATIVE_STANDARD_ERROR)
+                .lowerBound(Math.max(0, estimate - margin))
+                .upperBound(estimate + margin)
+                .build();
+    }
+}
@@ -0,0 +1,304 @@
+package com.be.service.impl;
+
+import com.be.event.UserChangedEvent;
+import com.be.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over users' email, name and phone for the admin user search.
+ * <p>
+ * Text is lower-cased and folded to ASCII (Vietnamese diacritics removed, {@code đ}
+ * mapped to {@code d}), and phone numbers are reduced to digits with a leading
+ * {@code 84} country code written as {@code 0}, so "Nguyễn Văn Đức", "nguyen van duc",
+ * "+84 912-345-678" and "0912345678" all find the same user. Every query term must
+ * occur in one of the fields; candidates come from intersecting the term's trigram
+ * posting lists and are confirmed against the folded text.
+ * <p>
+ * Changes committed on this instance are indexed right away; every {@code sync-ms} the
+ * users updated since the last sync are re-read, which picks up changes made on other
+ * instances. Users get a new document number whenever they are re-indexed, so posting
+ * lists stay sorted and the old document is only marked removed; the index is rebuilt
+ * nightly.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final char FIELD_SEPARATOR = '\u0001';
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern PHONE_PUNCTUATION = Pattern.compile("[\\s.()+-]");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    // covers transactions that set updated_at before the previous sync but committed after it
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final UserRepository userRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Postings> postings = new HashMap<>();
+    private List<Doc> docs = new ArrayList<>();
+    private Map<Long, Integer> docByUser = new HashMap<>();
+    // users changed while a rebuild reads the table; re-indexed once it is swapped in
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime syncedAt;
+
+    private record Doc(Long userId, String email, String name, String phone, String text) {
+    }
+
+    /**
+     * Sorted, growable list of document numbers.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+
+    @PostConstruct
+    @Scheduled(cron = "${users.search.rebuild-cron:0 15 4 * * *}")
+    public void rebuild() {
+        changedDuringRebuild.clear();
+        var startedAt = LocalDateTime.now();
+        var newPostings = new HashMap<String, Postings>();
+        var newDocs = new ArrayList<Doc>();
+        var newDocByUser = new HashMap<Long, Integer>();
+        for (var row : userRepository.findSearchFields()) {
+            add(toDoc(row), newPostings, newDocs, newDocByUser);
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            docs = newDocs;
+            docByUser = newDocByUser;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        syncedAt = startedAt;
+        changedDuringRebuild.forEach(this::reindex);
+        log.info("Indexed {} users for search ({} trigrams)", newDocs.size(), newPostings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        changedDuringRebuild.add(event.userId());
+        reindex(event.userId());
+    }
+
+    /**
+     * Re-indexes the users updated since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${users.search.sync-ms:30000}",
+            initialDelayString = "${users.search.sync-ms:30000}")
+    public void sync() {
+        var now = LocalDateTime.now();
+        var changed = 0;
+        for (var row : userRepository.findSearchFieldsUpdatedSince(syncedAt.minus(SYNC_OVERLAP))) {
+            var doc = toDoc(row);
+            changedDuringRebuild.add(doc.userId());
+            if (reindex(doc.userId(), Optional.of(doc))) {
+                changed++;
+            }
+        }
+        syncedAt = now;
+        if (changed > 0) {
+            log.debug("Re-indexed {} users changed since the last sync", changed);
+        }
+    }
+
+    private void reindex(Long userId) {
+        reindex(userId, userRepository.findSearchFieldsById(userId).stream().findFirst().map(UserSearchIndex::toDoc));
+    }
+
+    /**
+     * Replaces the user's document unless it is unchanged; returns whether it was.
+     */
+    private boolean reindex(Long userId, Optional<Doc> doc) {
+        lock.writeLock().lock();
+        try {
+            var previous = docByUser.get(userId);
+            if (previous != null && doc.isPresent() && doc.get().equals(docs.get(previous))) {
+                return false;
+            }
+            if (previous != null) {
+                docByUser.remove(userId);
+                docs.set(previous, null);
+            }
+            doc.ifPresent(d -> add(d, postings, docs, docByUser));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the users matching every term of {@code query}, best matches first: exact
+     * field matches, then prefixes, then substrings; newer users first among equals.
+     */
+    public List<Long> search(String query) {
+        var terms = terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            var matches = new ArrayList<long[]>();
+            for (var doc : candidates(terms)) {
+                var score = 0;
+                for (var term : terms) {
+                    var termScore = Math.max(score(doc.email(), term), Math.max(score(doc.name(), term), score(doc.phone(), term)));
+                    if (termScore == 0) {
+                        score = -1;
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (score > 0) {
+                    matches.add(new long[]{score, doc.userId()});
+                }
+            }
+            matches.sort(Comparator.<long[]>comparingLong(match -> match[0]).reversed()
+                    .thenComparing(Comparator.<long[]>comparingLong(match -> match[1]).reversed()));
+            return matches.stream().map(match -> match[1]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents containing every trigram of every term; all documents when a term is
+     * too short to have one.
+     */
+    private List<Doc> candidates(List<String> terms) {
+        var grams = new HashSet<String>();
+        for (var term : terms) {
+            grams.addAll(grams(term));
+        }
+        if (grams.isEmpty()) {
+            return docs.stream().filter(Objects::nonNull).toList();
+        }
+        return intersect(grams);
+    }
+
+    private List<Doc> intersect(Iterable<String> grams) {
+        var lists = new ArrayList<Postings>();
+        for (var gram : grams) {
+            var list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        var shortest = lists.getFirst();
+        var result = new ArrayList<Doc>();
+        for (var i = 0; i < shortest.size; i++) {
+            var docNumber = shortest.docs[i];
+            var doc = docs.get(docNumber);
+            if (doc != null && lists.stream().skip(1).allMatch(list -> list.contains(docNumber))) {
+                result.add(doc);
+            }
+        }
+        return result;
+    }
+
+    private static void add(Doc doc, Map<String, Postings> postings, List<Doc> docs, Map<Long, Integer> docByUser) {
+        var docNumber = docs.size();
+        docs.add(doc);
+        docByUser.put(doc.userId(), docNumber);
+        for (var gram : grams(doc.text())) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(docNumber);
+        }
+    }
+
+    private static Doc toDoc(Object[] row) {
+        var email = fold((String) row[1]);
+        var name = fold((String) row[2]);
+        var phone = normalizePhone((String) row[3]);
+        return new Doc((Long) row[0], email, name, phone, email + FIELD_SEPARATOR + name + FIELD_SEPARATOR + phone);
+    }
+
+    private static int score(String field, String term) {
+        if (field.equals(term)) {
+            return 3;
+        }
+        if (field.startsWith(term) || field.contains(" " + term)) {
+            return 2;
+        }
+        return field.contains(term) ? 1 : 0;
+    }
+
+    private static HashSet<String> grams(String text) {
+        var grams = new HashSet<String>();
+        for (var i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Splits a query into folded terms; a query that is a phone number (digits with
+     * spaces, dots, dashes, parentheses or a plus) becomes one normalized number.
+     */
+    static List<String> terms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        var compact = PHONE_PUNCTUATION.matcher(query).replaceAll("");
+        if (DIGITS.matcher(compact).matches()) {
+            return List.of(normalizePhone(compact));
+        }
+        return Arrays.stream(fold(query).split("\\s+")).filter(term -> !term.isEmpty()).toList();
+    }
+
+    static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        var lower = value.toLowerCase().replace('đ', 'd');
+        return COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("").trim();
+    }
+
+    static String normalizePhone(String value) {
+        if (value == null) {
+            return "";
+        }
+        var digits = value.replaceAll("\\D", "");
+        return digits.startsWith("84") && digits.length() >= 11 ? "0" + digits.substring(2) : digits;
+    }
+}
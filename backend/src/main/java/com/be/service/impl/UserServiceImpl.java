@@ -8,21 +8,25 @@ import com.be.dto.user.ChangePasswordRequest;
 import com.be.dto.user.UpdateUserProfileRequest;
 import com.be.dto.user.UserProfileResponse;
 import com.be.entity.User;
+import com.be.event.UserChangedEvent;
 import com.be.exception.ResourceNotFoundException;
 import com.be.exception.ValidationException;
-import com.be.repository.OrderRepository;
 import com.be.repository.UserRepository;
+import com.be.security.LoginThrottle;
+import com.be.service.RefreshTokenService;
 import com.be.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,34 +36,23 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
-    private final OrderRepository orderRepository;
+    private final CustomerStatsListener customerStatsListener;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     private final PasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     @Transactional(readOnly = true)
     public PagedResponse<UserResponse> getAllUsers(int page, int size, String search) {
-        var pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Specification<User> spec = Specification.where(null);
-
         if (search != null && !search.trim().isEmpty()) {
-            String searchTerm = "%" + search.toLowerCase() + "%";
-            spec = spec.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.or(
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("email")), searchTerm),
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("fullName")), searchTerm),
-                            criteriaBuilder.like(criteriaBuilder.lower(root.get("phone")), searchTerm)
-                    )
-            );
+            return searchUsers(page, size, search);
         }
-
-        var userPage = userRepository.findAll(spec, pageable);
-
-        var userResponses = userPage.getContent().stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+        var userPage = userRepository.findUserResponses(PageRequest.of(page, size));
 
         return PagedResponse.<UserResponse>builder()
-                .content(userResponses)
+                .content(userPage.getContent())
                 .page(userPage.getNumber())
                 .size(userPage.getSize())
                 .totalElements(userPage.getTotalElements())
@@ -71,23 +64,48 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
+    /**
+     * Pages through the ranked ids from the search index and loads the page in one query.
+     */
+    private PagedResponse<UserResponse> searchUsers(int page, int size, String search) {
+        var ids = userSearchIndex.search(search);
+        var from = Math.min(ids.size(), page * size);
+        var pageIds = ids.subList(from, Math.min(ids.size(), from + size));
+        var byId = userRepository.findUserResponsesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(UserResponse::getId, Function.identity()));
+        var totalPages = (ids.size() + size - 1) / size;
+
+        return PagedResponse.<UserResponse>builder()
+                .content(pageIds.stream().map(byId::get).filter(Objects::nonNull).toList())
+                .page(page)
+                .size(size)
+                .totalElements(ids.size())
+                .totalPages(totalPages)
+                .first(page == 0)
+                .last(page >= totalPages - 1)
+                .hasNext(page < totalPages - 1)
+                .hasPrevious(page > 0)
+                .build();
+    }
+
     @Override
     public UserResponse updateUserStatus(Long userId, UpdateUserStatusRequest request) {
         var user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         user.setIsActive(request.getIsActive());
-        var savedUser = userRepository.save(user);
+        userRepository.save(user);
+        if (!user.getIsActive()) {
+            refreshTokenService.revokeAll(userId);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
 
-        return mapToUserResponse(savedUser);
+        return findUserResponse(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long userId) {
-        var user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        return mapToUserResponse(user);
+        return findUserResponse(userId);
     }
 
     @Override
@@ -115,6 +133,7 @@ public class UserServiceImpl implements UserService {
         if (StringUtils.hasText(request.getAddress())) user.setAddress(request.getAddress());
 
         var savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
         return mapToUserProfileResponse(savedUser);
     }
 
@@ -123,7 +142,9 @@ public class UserServiceImpl implements UserService {
         var user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        loginThrottle.checkAccount(userEmail);
         if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+            loginThrottle.recordFailure(userEmail);
             throw new ValidationException("Current password is incorrect");
         }
 
@@ -136,34 +157,42 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        // signs out every session that still holds a token issued with the old password
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        refreshTokenService.revokeAll(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
         return MessageResponse.builder()
                 .message("Password changed successfully")
                 .build();
     }
 
+    @Override
+    public MessageResponse logoutAllSessions(String userEmail) {
+        var user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-    private UserResponse mapToUserResponse(User user) {
-        var totalOrders = orderRepository.countByUser(user);
-        var totalSpent = orderRepository.getTotalSpentByUser(user);
-        var lastOrderDate = orderRepository.getLastOrderDateByUser(user);
+        // refresh tokens stop rotating and the access tokens already handed out stop verifying
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        refreshTokenService.revokeAll(user.getId());
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
 
-        UserResponse.UserResponseBuilder builder = UserResponse.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .phone(user.getPhone())
-                .role(user.getRole())
-                .isActive(user.getIsActive())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .totalOrders(totalOrders)
-                .totalSpent(totalSpent != null ? totalSpent.doubleValue() : 0.0)
-                .lastOrderDate(lastOrderDate)
-                .address(user.getAddress());
+        return MessageResponse.builder()
+                .message("Logged out of all sessions")
+                .build();
+    }
 
-        return builder.build();
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildCustomerStats() {
+        customerStatsListener.rebuild();
+    }
+
+    private UserResponse findUserResponse(Long userId) {
+        return userRepository.findUserResponseById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
 
     private UserProfileResponse mapToUserProfileResponse(User user) {
@@ -0,0 +1,61 @@
+package com.be.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over strings: {@link #mightContain} never misses a value that was
+ * {@link #put}, and wrongly reports an absent one with about the configured
+ * probability while no more than the expected number of values were added. Values
+ * cannot be removed; rebuild the filter instead. Safe for concurrent use.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        var n = Math.max(1, expectedInsertions);
+        var m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - Long.SIZE, Math.max(Long.SIZE, m));
+        this.bits = new AtomicLongArray((bitCount + Long.SIZE - 1) / Long.SIZE);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        var hash = hash(value);
+        for (var i = 0; i < hashCount; i++) {
+            var bit = bit(hash, i);
+            var mask = 1L << bit;
+            bits.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        var hash = hash(value);
+        for (var i = 0; i < hashCount; i++) {
+            var bit = bit(hash, i);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The {@code i}-th probe position, from two halves of one 64-bit hash (Kirsch–Mitzenmacher).
+     */
+    private int bit(long hash, int i) {
+        var combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    private static long hash(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return HyperLogLog.hash(hash);
+    }
+}
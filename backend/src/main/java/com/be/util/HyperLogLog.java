@@ -0,0 +1,194 @@
+package com.be.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct counter with 2^12 registers. The relative standard error of
+ * {@link #estimate()} is {@code 1.04 / sqrt(4096) ≈ 1.6%} at any cardinality (about
+ * ±3.3% at 95% confidence); small counts fall back to linear counting and are close
+ * to exact.
+ * <p>
+ * Sketches start sparse (a sorted list of the non-zero registers, 3 bytes each when
+ * serialized) and switch to a dense 4 KiB register array once that would be smaller,
+ * so the many low-traffic keys stay cheap. Unions are exact: merging two sketches
+ * gives the sketch of the combined input. Not thread-safe.
+ */
+public class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final int REGISTERS = 1 << PRECISION;
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    private static final int SPARSE_LIMIT = REGISTERS / 8;
+    private static final byte FORMAT_SPARSE = 0;
+    private static final byte FORMAT_DENSE = 1;
+
+    // sparse entries encoded as (register index << 8 | value), sorted by index
+    private int[] sparse = new int[4];
+    private int sparseSize;
+    private byte[] dense;
+
+    public void add(long hash) {
+        var index = (int) (hash >>> (Long.SIZE - PRECISION));
+        // the guard bit caps the run of zeros at 64 - PRECISION
+        var value = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        set(index, value);
+    }
+
+    public void addLong(long value) {
+        add(hash(value));
+    }
+
+    public void addString(String value) {
+        var hash = 0xcbf29ce484222325L;
+        for (var b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        add(hash(hash));
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            toDense();
+            for (var i = 0; i < REGISTERS; i++) {
+                if (other.dense[i] > dense[i]) {
+                    dense[i] = other.dense[i];
+                }
+            }
+            return;
+        }
+        for (var i = 0; i < other.sparseSize; i++) {
+            set(other.sparse[i] >>> 8, other.sparse[i] & 0xff);
+        }
+    }
+
+    public long estimate() {
+        double sum;
+        int zeros;
+        if (dense != null) {
+            sum = 0;
+            zeros = 0;
+            for (var value : dense) {
+                sum += 1.0 / (1L << value);
+                if (value == 0) {
+                    zeros++;
+                }
+            }
+        } else {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (var i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (sparse[i] & 0xff));
+            }
+        }
+
+        var alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        var raw = alpha * REGISTERS * REGISTERS / sum;
+        if (raw <= 2.5 * REGISTERS && zeros > 0) {
+            return Math.round(REGISTERS * Math.log((double) REGISTERS / zeros));
+        }
+        return Math.round(raw);
+    }
+
+    public boolean isEmpty() {
+        return dense == null && sparseSize == 0;
+    }
+
+    public byte[] toBytes() {
+        if (dense != null) {
+            return ByteBuffer.allocate(1 + REGISTERS).put(FORMAT_DENSE).put(dense).array();
+        }
+        var buffer = ByteBuffer.allocate(3 + 3 * sparseSize).put(FORMAT_SPARSE).putShort((short) sparseSize);
+        for (var i = 0; i < sparseSize; i++) {
+            buffer.putShort((short) (sparse[i] >>> 8)).put((byte) sparse[i]);
+        }
+        return buffer.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        var sketch = new HyperLogLog();
+        var buffer = ByteBuffer.wrap(bytes);
+        if (buffer.get() == FORMAT_DENSE) {
+            sketch.dense = new byte[REGISTERS];
+            buffer.get(sketch.dense);
+            return sketch;
+        }
+        var size = buffer.getShort() & 0xffff;
+        sketch.sparse = new int[Math.max(4, size)];
+        for (var i = 0; i < size; i++) {
+            sketch.sparse[i] = (buffer.getShort() & 0xffff) << 8 | (buffer.get() & 0xff);
+        }
+        sketch.sparseSize = size;
+        return sketch;
+    }
+
+    /**
+     * 64-bit finalizer of SplitMix64; spreads ids and other low-entropy keys over all bits.
+     */
+    public static long hash(long value) {
+        var z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private void set(int index, int value) {
+        if (dense != null) {
+            if (value > dense[index]) {
+                dense[index] = (byte) value;
+            }
+            return;
+        }
+
+        var position = search(index);
+        if (position >= 0) {
+            if (value > (sparse[position] & 0xff)) {
+                sparse[position] = index << 8 | value;
+            }
+            return;
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            dense[index] = (byte) value;
+            return;
+        }
+        var insertAt = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(SPARSE_LIMIT, sparse.length * 2));
+        }
+        System.arraycopy(sparse, insertAt, sparse, insertAt + 1, sparseSize - insertAt);
+        sparse[insertAt] = index << 8 | value;
+        sparseSize++;
+    }
+
+    private int search(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            var mid = (low + high) >>> 1;
+            var midIndex = sparse[mid] >>> 8;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        if (dense != null) {
+            return;
+        }
+        dense = new byte[REGISTERS];
+        for (var i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 8] = (byte) (sparse[i] & 0xff);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+}
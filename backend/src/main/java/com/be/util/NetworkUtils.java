@@ -1,5 +1,6 @@
 package com.be.util;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.java.Log;
 
 import java.net.NetworkInterface;
@@ -27,5 +28,14 @@ public class NetworkUtils {
         }
         return "127.0.0.1";
     }
+
+    /**
+     * The client's address. {@code X-Forwarded-For} is resolved by Tomcat's remote IP
+     * valve ({@code server.forward-headers-strategy}) and only trusted from the
+     * configured internal proxies, so clients cannot choose the address they appear from.
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
 }
 